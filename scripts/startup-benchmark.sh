@@ -0,0 +1,115 @@
+#!/usr/bin/env bash
+#
+# Copyright (c) 2016 Brian Scott Russell
+#
+# Permission is hereby granted, free of charge, to any person obtaining a copy
+# of this software and associated documentation files (the "Software"), to deal
+# in the Software without restriction, including without limitation the rights
+# to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+# copies of the Software, and to permit persons to whom the Software is
+# furnished to do so, subject to the following conditions:
+#
+# The above copyright notice and this permission notice shall be included in all
+# copies or substantial portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+#
+# Measures cold-start latency of the Game of Life: the wall time from launching the program until the
+#  "Generation 1" header is printed (time-to-first-generation), plus the total wall time of the run.
+#
+# Every launcher that has been built is measured:
+#   jar     ./target/gameoflife-1.0.jar              (mvn package)
+#   cds     the jar with ./target/gameoflife.jsa     (mvn package -Pcds)
+#   native  ./target/gameoflife                      (mvn package -Pnative)
+#
+# Usage (from the project root):
+#   ./scripts/startup-benchmark.sh [runs] [/path/to/grid/file]
+
+set -euo pipefail
+
+RUNS=${1:-20}
+GRID=${2:-src/main/resources/DefaultInputGrid.txt}
+TARGET=target
+JAR="$TARGET/gameoflife-1.0.jar"
+CDS_ARCHIVE="$TARGET/gameoflife.jsa"
+NATIVE="$TARGET/gameoflife"
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+# current time in microseconds, without forking when the shell provides EPOCHREALTIME (bash 5+)
+now_micros() {
+    if [[ -n "${EPOCHREALTIME:-}" ]]; then
+        local now=${EPOCHREALTIME/[.,]/}
+        echo $((10#$now))
+    else
+        echo $(( $(date +%s%N) / 1000 ))
+    fi
+}
+
+# runs the given command once and prints "<time to first generation> <total time>" in microseconds
+measure_once() {
+    local start first="" line
+    start=$(now_micros)
+    while IFS= read -r line; do
+        if [[ -z "$first" && "$line" == "Generation 1" ]]; then
+            first=$(now_micros)
+        fi
+    done < <("$@" 2>/dev/null)
+    local end
+    end=$(now_micros)
+    if [[ -z "$first" ]]; then
+        echo "no 'Generation 1' header in the output of: $*" >&2
+        exit 1
+    fi
+    echo "$((first - start)) $((end - start))"
+}
+
+# runs the given command RUNS times (after one warm-up run for the OS file cache) and prints the median & min
+benchmark() {
+    local name=$1
+    shift
+    measure_once "$@" > /dev/null
+
+    local firsts=() totals=() first total
+    for ((i = 0; i < RUNS; i++)); do
+        read -r first total < <(measure_once "$@")
+        firsts+=("$first")
+        totals+=("$total")
+    done
+    printf '%-8s %12s %12s %12s\n' "$name" \
+        "$(median_millis "${firsts[@]}")" "$(min_millis "${firsts[@]}")" "$(median_millis "${totals[@]}")"
+}
+
+median_millis() {
+    local sorted
+    sorted=($(printf '%s\n' "$@" | sort -n))
+    micros_as_millis "${sorted[$(( ${#sorted[@]} / 2 ))]}"
+}
+
+min_millis() {
+    micros_as_millis "$(printf '%s\n' "$@" | sort -n | head -1)"
+}
+
+micros_as_millis() {
+    printf '%d.%03d' $(( $1 / 1000 )) $(( $1 % 1000 ))
+}
+
+if [[ ! -f "$JAR" ]]; then
+    echo "$JAR not found, run 'mvn package' first" >&2
+    exit 1
+fi
+
+echo "time-to-first-generation over $RUNS runs of $GRID (ms)"
+printf '%-8s %12s %12s %12s\n' "launcher" "median" "min" "total median"
+benchmark jar "$JAVA" -jar "$JAR" "$GRID"
+if [[ -f "$CDS_ARCHIVE" ]]; then
+    benchmark cds "$JAVA" -XX:SharedArchiveFile="$CDS_ARCHIVE" -jar "$JAR" "$GRID"
+fi
+if [[ -x "$NATIVE" ]]; then
+    benchmark native "$NATIVE" "$GRID"
+fi
@@ -0,0 +1,151 @@
+package com.brianscottrussell.gameoflife;
+
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Switches between the other engines as the grid evolves. Every SAMPLE_INTERVAL generations it samples the size of the
+ *  grid, the fraction of the grid that changed and the fraction of the tiles next to those changes, and picks the
+ *  engine (and for the Parallel engine the thread count) expected to be fastest:
+ *
+ *   - small grids are stepped Dense, since skipping cells or starting threads costs more than it saves
+ *   - when very few cells are changing, Sparse visits only the neighbors of those cells
+ *   - when the changes are confined to part of the grid, Tiled visits only the tiles around them
+ *   - otherwise every cell has to be visited: Parallel for large grids, Dense for the rest
+ *
+ * Every engine works on the same grids, so switching needs no conversion. Sparse and Tiled need the changes of the
+ *  previous generation, which every engine records, and fall back to visiting every cell when they are not known.
+ *  The population density is not used: a cell can only change next to a live cell, so a sparse population already
+ *  shows up as few changes confined to few tiles. Every decision is logged at INFO, with the population for reference.
+ *
+ * @author brussell
+ */
+class AdaptiveStepEngine extends StepEngine {
+
+    private static final Logger LOGGER = Logger.getLogger(AdaptiveStepEngine.class.getName());
+
+    // # of generations between samples
+    static final int SAMPLE_INTERVAL = 8;
+    // grids with fewer cells than this are always stepped Dense
+    private static final int SMALL_GRID_CELL_COUNT = 64 * 64;
+    // grids with at least this many cells are worth splitting between threads
+    private static final int PARALLEL_GRID_CELL_COUNT = 256 * 256;
+    // each thread gets at least this many rows
+    private static final int PARALLEL_MIN_ROWS_PER_THREAD = 32;
+    // Sparse visits up to 9 cells per change, with poor locality, so it only pays off for few changes. measured on a
+    //   decaying soup, Sparse overtakes Dense once about 5% of the cells change per generation
+    private static final double SPARSE_MAX_CHANGED_FRACTION = 0.05;
+    // Tiled pays off while a good part of the tiles can be skipped
+    private static final double TILED_MAX_ACTIVE_TILE_FRACTION = 0.5;
+
+    private final int processorCount;
+    private final DenseStepEngine denseStepEngine = new DenseStepEngine();
+    private final SparseStepEngine sparseStepEngine = new SparseStepEngine();
+    private final TiledStepEngine tiledStepEngine = new TiledStepEngine();
+    private ParallelStepEngine parallelStepEngine = null;
+
+    private StepEngine currentStepEngine = this.denseStepEngine;
+    private int stepsUntilSample = 0;
+
+    AdaptiveStepEngine() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param processorCount int as the most threads the Parallel engine may use
+     */
+    AdaptiveStepEngine(int processorCount) {
+        this.processorCount = Math.max(processorCount, 1);
+    }
+
+    /**
+     * @return StepStrategy of the engine used for the last generation
+     */
+    StepStrategy getCurrentStrategy() {
+        return this.currentStepEngine.getStrategy();
+    }
+
+    @Override
+    void step(GenerationStep step) {
+        if (this.stepsUntilSample == 0) {
+            this.currentStepEngine = chooseStepEngine(step);
+            // when the previous changes are not known (e.g. the first generation) sample again as soon as they are
+            this.stepsUntilSample = step.previousGenerationInNext ? SAMPLE_INTERVAL : 1;
+        }
+        this.stepsUntilSample--;
+        this.currentStepEngine.step(step);
+    }
+
+    /**
+     * Samples the grid and picks the engine for the next SAMPLE_INTERVAL generations
+     */
+    private StepEngine chooseStepEngine(GenerationStep step) {
+        long cellCount = step.getCellCount();
+        double changedFraction = !step.previousGenerationInNext ? 1 : cellCount == 0 ? 0 : (double) step.previousChangedCells.size() / cellCount;
+        double activeTileFraction = cellCount == 0 ? 0 : (double) this.tiledStepEngine.countActiveTiles(step) / TiledStepEngine.getTileCount(step);
+        int threadCount = Math.min(this.processorCount, step.rowCount / PARALLEL_MIN_ROWS_PER_THREAD);
+
+        StepEngine stepEngine;
+        String reason;
+        if (cellCount < SMALL_GRID_CELL_COUNT) {
+            stepEngine = this.denseStepEngine;
+            reason = "small grid";
+        }
+        else if (changedFraction <= SPARSE_MAX_CHANGED_FRACTION) {
+            stepEngine = this.sparseStepEngine;
+            reason = "few changes";
+        }
+        else if (activeTileFraction <= TILED_MAX_ACTIVE_TILE_FRACTION) {
+            stepEngine = this.tiledStepEngine;
+            reason = "changes confined to part of the grid";
+        }
+        else if (cellCount >= PARALLEL_GRID_CELL_COUNT && threadCount > 1) {
+            if (null == this.parallelStepEngine || this.parallelStepEngine.getThreadCount() != threadCount) {
+                this.parallelStepEngine = new ParallelStepEngine(threadCount);
+            }
+            stepEngine = this.parallelStepEngine;
+            reason = "large grid changing throughout";
+        }
+        else {
+            stepEngine = this.denseStepEngine;
+            reason = "grid changing throughout";
+        }
+
+        if (LOGGER.isLoggable(Level.INFO)) {
+            LOGGER.info(String.format("%s %s%s (%s): %dx%d cells, population %d, changed %.4f, active tiles %.4f",
+                    stepEngine != this.currentStepEngine ? "Switching to" : "Staying on",
+                    stepEngine.getStrategy(),
+                    stepEngine == this.parallelStepEngine ? " x" + threadCount + " threads" : "",
+                    reason, step.rowCount, step.colCount, step.population, changedFraction, activeTileFraction));
+        }
+        return stepEngine;
+    }
+
+    @Override
+    StepStrategy getStrategy() {
+        return StepStrategy.Adaptive;
+    }
+}
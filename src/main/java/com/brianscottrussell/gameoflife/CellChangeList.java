@@ -0,0 +1,92 @@
+package com.brianscottrussell.gameoflife;
+
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+import java.util.Arrays;
+
+/**
+ * A growable list of cells, identified by their flat index (row * colCount + col), that changed during a generation.
+ *  the indexes are longs, since a grid can have more than Integer.MAX_VALUE cells
+ *
+ * The backing array is kept between generations so that recording changes does not allocate once it has grown to
+ *  the size of a typical generation.
+ *
+ * @author brussell
+ */
+class CellChangeList {
+
+    private long[] cells = new long[16];
+    private int size = 0;
+
+    /**
+     * @param cell long as the flat index of the cell that changed
+     */
+    void add(long cell) {
+        if(size == cells.length) {
+            cells = Arrays.copyOf(cells, size * 2);
+        }
+        cells[size++] = cell;
+    }
+
+    /**
+     * @param index int as the position in this list
+     * @return long as the flat index of the cell at that position
+     */
+    long get(int index) {
+        return cells[index];
+    }
+
+    /**
+     * @param changedCells CellChangeList whose cells are appended to this list
+     */
+    void addAll(CellChangeList changedCells) {
+        if(size + changedCells.size > cells.length) {
+            cells = Arrays.copyOf(cells, Math.max(size + changedCells.size, size * 2));
+        }
+        System.arraycopy(changedCells.cells, 0, cells, size, changedCells.size);
+        size += changedCells.size;
+    }
+
+    /**
+     * Sorts the cells in ascending order
+     */
+    void sort() {
+        Arrays.sort(cells, 0, size);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return long[] as a copy of the flat indexes in this list
+     */
+    long[] toArray() {
+        return Arrays.copyOf(cells, size);
+    }
+}
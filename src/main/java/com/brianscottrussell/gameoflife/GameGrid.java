@@ -24,22 +24,69 @@ package com.brianscottrussell.gameoflife;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
 
 /**
  * The 2-dimensional grid of Cells used by the game
  *
+ * Cells are identified by their flat index (row * colCount + col) as a long, so a grid can have more than
+ *  Integer.MAX_VALUE cells (e.g. 50k x 50k). Only the history is limited to MAX_HISTORY_CELL_COUNT cells.
+ *
  * @author brussell
  */
 public class GameGrid {
 
     private static final char DEAD_SYMBOL = '.';
     private static final char ALIVE_SYMBOL = '*';
+    // the grid is summarized in square tiles of TILE_SIZE x TILE_SIZE cells
+    static final int TILE_SHIFT = 5;
+    private static final int TILE_SIZE = 1 << TILE_SHIFT;
+    // keyframes are BitSets, which index their bits with an int
+    public static final long MAX_HISTORY_CELL_COUNT = Integer.MAX_VALUE;
+    // # of replaced snapshots kept around to be recycled
+    private static final int RETIRED_SNAPSHOT_LIMIT = 4;
+    // # of publishes whose flipped cells are kept, enough to bring any retired snapshot forward
+    private static final int PUBLISHED_FLIPS_LIMIT = RETIRED_SNAPSHOT_LIMIT + 1;
 
     private CellStatus[][] grid = new CellStatus[0][0];
+    // overwritten with the next generation, then swapped with grid. see GenerationStep
+    private CellStatus[][] nextGrid = new CellStatus[0][0];
+    // true when nextGrid holds the previous generation and changedCells the cells that flipped since
+    private boolean previousGenerationInNext = false;
+    // privateRows[row] is true when grid[row] belongs to this GameGrid alone. rows without it may be shared with a fork
+    //   and are copied before they are written. null when the outer array itself is shared. see fork()
+    private boolean[] privateRows = new boolean[0];
+    // the same for nextGrid
+    private boolean[] privateNextRows = new boolean[0];
     private int rowCount = 0;
     private int colCount = 0;
     private int generation = 1;
+    // # of Alive cells in the grid
+    private long population = 0;
+    // # of Alive cells in each tile, indexed by [row >> TILE_SHIFT][col >> TILE_SHIFT]
+    private int[][] tilePopulation = new int[0][0];
+    // true when tilePopulation is shared with a fork, so it is copied before it is changed
+    private boolean tilePopulationShared = false;
+    // the cells that flipped during the last call to incrementGeneration()
+    private CellChangeList changedCells = new CellChangeList();
+    // swapped with changedCells every generation, so the engine can read the previous changes while recording new ones
+    private CellChangeList spareChangedCells = new CellChangeList();
+    private StepEngine stepEngine = StepStrategy.Dense.newEngine();
+    private final GenerationStep step = new GenerationStep();
+    // null until enableHistory() is called
+    private GenerationHistory history = null;
+    // the latest generation for readers on other threads, null until enableSnapshotPublishing() is called
+    private volatile GridSnapshot publishedSnapshot = null;
+    // previously published snapshots, only touched by the thread changing the grid
+    private final ArrayDeque<GridSnapshot> retiredSnapshots = new ArrayDeque<>();
+    // # of snapshots published so far, and the cells that flipped in each of the last few publishes (oldest first, and
+    //   only since the grid last changed without a record of its flipped cells), so a retired snapshot can be brought
+    //   forward to the current generation by flipping only those cells rather than being refilled from the whole grid
+    private long publishCount = 0;
+    private final ArrayDeque<long[]> publishedFlips = new ArrayDeque<>();
 
     /**
      * Constructor for a grid of size (rowCount x colCount) where all cells are Dead
@@ -109,6 +156,7 @@ public class GameGrid {
                     }
                     rowIndex++;
                 }
+                countTilePopulation();
             }
         }
 
@@ -116,11 +164,425 @@ public class GameGrid {
         this.generation = 1;
     }
 
+    /**
+     * Constructor for a fork of the given GameGrid. see fork()
+     *
+     * @param gameGrid GameGrid to fork
+     */
+    private GameGrid(GameGrid gameGrid) {
+        this.rowCount = gameGrid.rowCount;
+        this.colCount = gameGrid.colCount;
+        this.generation = gameGrid.generation;
+        this.population = gameGrid.population;
+        this.stepEngine = gameGrid.stepEngine.getStrategy().newEngine();
+
+        // both grids now share the rows of the current generation, and neither may write them in place
+        this.grid = gameGrid.grid;
+        this.privateRows = null;
+        gameGrid.privateRows = null;
+        // nextGrid is overwritten before it is read, so it can start out as the same rows as well
+        this.nextGrid = gameGrid.grid;
+        this.privateNextRows = null;
+        this.previousGenerationInNext = false;
+        // the same goes for the forked grid's nextGrid, so both grids step into the shared rows and keep sharing the rows
+        //   they do not change. catching up from the previous generation only rewrites cells with the values they have
+        gameGrid.nextGrid = gameGrid.grid;
+        gameGrid.privateNextRows = null;
+
+        this.tilePopulation = gameGrid.tilePopulation;
+        this.tilePopulationShared = true;
+        gameGrid.tilePopulationShared = true;
+    }
+
+    /**
+     * Returns a copy of this grid at the current generation, to be run or changed on its own without affecting this grid.
+     *  the copy is made in constant time: the two grids share their rows of cells, and each grid copies a row only when
+     *  it first changes it, so memory grows with the rows each grid changes rather than with the size of the grid.
+     *  the fork has the same step strategy, but does not keep a history or publish snapshots until asked to
+     *
+     * @return GameGrid as the fork
+     */
+    public GameGrid fork() {
+        return new GameGrid(this);
+    }
+
+    /**
+     * @param gameGrid GameGrid, usually a fork of this grid or the grid this one was forked from
+     * @return int as # of rows of the current generation that this grid shares with the given grid rather than copied
+     */
+    int countRowsSharedWith(GameGrid gameGrid) {
+        int sharedRowCount = 0;
+        for(int row = 0; row < Math.min(this.rowCount, gameGrid.rowCount); row++) {
+            if(this.grid[row] == gameGrid.grid[row]) {
+                sharedRowCount++;
+            }
+        }
+        return sharedRowCount;
+    }
+
+    /**
+     * @param row int
+     * @param col int
+     * @return boolean true if the cell is in the grid and Alive
+     */
+    public boolean isCellAlive(int row, int col) {
+        return isCellInGrid(row, col) && this.grid[row][col] == CellStatus.Alive;
+    }
+
+    /**
+     * Makes the cell Alive or Dead in place, without moving to another generation, e.g. to perturb a fork.
+     *  the change is not part of getLastDelta(), the history (if enabled) records it as part of the current generation
+     *  so rewinding to an earlier generation still works, and the next generation is computed from the whole grid
+     *  since the previous changes no longer tell the engine where to look
+     *
+     * @param row int
+     * @param col int
+     * @param alive boolean
+     * @throws IllegalArgumentException if the cell is outside of this grid
+     */
+    public void setCell(int row, int col, boolean alive) {
+        if(!isCellInGrid(row, col)) {
+            throw new IllegalArgumentException("Cell " + row + ":" + col + " is not in this " + this.rowCount + "x" + this.colCount + " grid");
+        }
+        CellStatus cellStatus = alive ? CellStatus.Alive : CellStatus.Dead;
+        if(this.grid[row][col] == cellStatus) {
+            return;
+        }
+        writableRow(row)[col] = cellStatus;
+        int populationChange = alive ? 1 : -1;
+        writableTilePopulation()[row >> TILE_SHIFT][col >> TILE_SHIFT] += populationChange;
+        this.population += populationChange;
+
+        this.changedCells.clear();
+        this.previousGenerationInNext = false;
+        if(null != this.history) {
+            this.history.flipInNewest((long) row * this.colCount + col);
+        }
+        publishSnapshot(null);
+    }
+
     public int getGeneration() {
         return generation;
     }
 
-    private enum CellStatus {
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColCount() {
+        return colCount;
+    }
+
+    /**
+     * @return long as # of Alive cells in the grid
+     */
+    public long getPopulation() {
+        return population;
+    }
+
+    public StepStrategy getStepStrategy() {
+        return stepEngine.getStrategy();
+    }
+
+    /**
+     * Changes how the next generations are computed. every strategy gives the same result, see StepStrategy
+     *
+     * @param stepStrategy StepStrategy
+     */
+    public void setStepStrategy(StepStrategy stepStrategy) {
+        this.stepEngine = stepStrategy.newEngine();
+    }
+
+    /**
+     * Builds the delta of the last call to incrementGeneration(), from the cells that flipped during that step.
+     *  if the grid has not been incremented (or was just rewound) the delta is empty
+     *
+     * @return GenerationDelta moving the previous generation to the current one
+     */
+    public GenerationDelta getLastDelta() {
+        CellChangeList births = new CellChangeList();
+        CellChangeList deaths = new CellChangeList();
+        for(int i = 0; i < this.changedCells.size(); i++) {
+            long cell = this.changedCells.get(i);
+            // a flipped cell that is Alive now was born, otherwise it died
+            if(this.grid[(int) (cell / this.colCount)][(int) (cell % this.colCount)] == CellStatus.Alive) {
+                births.add(cell);
+            }
+            else {
+                deaths.add(cell);
+            }
+        }
+        return new GenerationDelta(this.generation, this.colCount, births.toArray(), deaths.toArray());
+    }
+
+    /**
+     * Reuses this grid for a new starting position, keeping its size and step strategy: makes the given cells Alive
+     *  and all others Dead, and starts again at generation 1. any history is discarded
+     *
+     * @param aliveCells BitSet of the Alive cells, by flat index (row * colCount + col)
+     */
+    void reset(BitSet aliveCells) {
+        loadAliveCells(aliveCells);
+        this.generation = 1;
+        this.changedCells.clear();
+        this.history = null;
+        publishSnapshot(null);
+    }
+
+    /**
+     * @return CellChangeList of the cells that flipped during the last call to incrementGeneration(), not to be changed
+     */
+    CellChangeList getChangedCells() {
+        return this.changedCells;
+    }
+
+    /**
+     * Fills the given snapshot with the current generation of this grid
+     *
+     * @param snapshot GridSnapshot to overwrite
+     */
+    void copyInto(GridSnapshot snapshot) {
+        snapshot.reset(this.generation, this.rowCount, this.colCount);
+        // tiles without any Alive cells are already Dead in the snapshot
+        for(int tileRow = 0; tileRow < this.tilePopulation.length; tileRow++) {
+            for(int tileCol = 0; tileCol < this.tilePopulation[tileRow].length; tileCol++) {
+                if(this.tilePopulation[tileRow][tileCol] == 0) {
+                    continue;
+                }
+                int lastRow = Math.min((tileRow + 1) << TILE_SHIFT, this.rowCount);
+                int lastCol = Math.min((tileCol + 1) << TILE_SHIFT, this.colCount);
+                for(int row = tileRow << TILE_SHIFT; row < lastRow; row++) {
+                    CellStatus[] cells = this.grid[row];
+                    for(int col = tileCol << TILE_SHIFT; col < lastCol; col++) {
+                        if(cells[col] == CellStatus.Alive) {
+                            snapshot.setAlive((long) row * this.colCount + col);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves this grid to the delta's generation by applying its births & deaths rather than running the rules.
+     *  this is the counterpart of getLastDelta(), used to replay a stream of deltas
+     *
+     * @param delta GenerationDelta as built from a grid of the same size
+     * @throws IllegalArgumentException if the delta refers to cells outside of this grid
+     */
+    public void applyDelta(GenerationDelta delta) {
+        this.changedCells.clear();
+        // the cells change in place, so nextGrid no longer holds the generation before them
+        this.previousGenerationInNext = false;
+        applyCellStatus(delta.getBirths(), CellStatus.Alive);
+        applyCellStatus(delta.getDeaths(), CellStatus.Dead);
+        updateTilePopulation();
+        this.generation = delta.getGeneration();
+
+        recordHistory();
+        publishSnapshot(this.changedCells);
+    }
+
+    private void applyCellStatus(long[] cells, CellStatus cellStatus) {
+        for(long cell : cells) {
+            if(cell < 0 || cell >= (long) this.rowCount * this.colCount) {
+                throw new IllegalArgumentException("Cell " + cell + " is not in this " + this.rowCount + "x" + this.colCount + " grid");
+            }
+            int rowIndex = (int) (cell / this.colCount);
+            int colIndex = (int) (cell % this.colCount);
+            if(this.grid[rowIndex][colIndex] != cellStatus) {
+                writableRow(rowIndex)[colIndex] = cellStatus;
+                this.changedCells.add(cell);
+            }
+        }
+    }
+
+    /**
+     * Starts keeping a bounded history of this grid's generations, beginning with the current generation.
+     *  a full keyframe of the grid is stored every keyframeInterval generations, and only the cells that flipped are
+     *  stored for the generations in between
+     *
+     * @param capacity int as the minimum number of most recent generations that can be returned to
+     * @param keyframeInterval int as the number of generations between full keyframes
+     * @throws IllegalStateException if the grid has more than MAX_HISTORY_CELL_COUNT cells, too many for a keyframe
+     */
+    public void enableHistory(int capacity, int keyframeInterval) {
+        if((long) this.rowCount * this.colCount > MAX_HISTORY_CELL_COUNT) {
+            throw new IllegalStateException("History is limited to grids of at most " + MAX_HISTORY_CELL_COUNT + " cells, this grid is "
+                    + this.rowCount + "x" + this.colCount);
+        }
+        this.history = new GenerationHistory(capacity, keyframeInterval);
+        this.history.record(this.generation, getAliveCells(), new long[0]);
+    }
+
+    /**
+     * Moves this grid back the given number of generations using the history.
+     *  the generations after the one rewound to are forgotten, so incrementing again recomputes them
+     *
+     * @param generationCount int as the number of generations to go back
+     * @throws IllegalStateException if history has not been enabled
+     * @throws IllegalArgumentException if the target generation is no longer (or not yet) in the history
+     */
+    public void rewind(int generationCount) {
+        int targetGeneration = this.generation - generationCount;
+        BitSet aliveCells = getHistory().rebuild(targetGeneration);
+        this.history.truncateAfter(targetGeneration);
+        loadAliveCells(aliveCells);
+        this.generation = targetGeneration;
+        this.changedCells.clear();
+        publishSnapshot(null);
+    }
+
+    /**
+     * Builds a new GameGrid holding the given generation of this grid, without changing this grid.
+     *  the returned grid does not keep a history of its own
+     *
+     * @param generation int as the generation to return
+     * @return GameGrid at the given generation
+     * @throws IllegalStateException if history has not been enabled
+     * @throws IllegalArgumentException if the generation is no longer (or not yet) in the history
+     */
+    public GameGrid getGeneration(int generation) {
+        GameGrid gameGrid = new GameGrid(this.rowCount, this.colCount);
+        gameGrid.loadAliveCells(getHistory().rebuild(generation));
+        gameGrid.generation = generation;
+        return gameGrid;
+    }
+
+    /**
+     * Adds the current generation to the history, if history is enabled
+     */
+    private void recordHistory() {
+        if(null != this.history) {
+            this.history.record(this.generation, this.history.isKeyframeDue() ? getAliveCells() : null, this.changedCells.toArray());
+        }
+    }
+
+    /**
+     * Starts publishing a GridSnapshot of every generation, so that other threads can read this grid while it is
+     *  being incremented. this must be called by the thread that changes the grid
+     */
+    public void enableSnapshotPublishing() {
+        if(null == this.publishedSnapshot) {
+            GridSnapshot snapshot = new GridSnapshot();
+            copyInto(snapshot);
+            snapshot.setPublishIndex(this.publishCount);
+            this.publishedSnapshot = snapshot;
+        }
+    }
+
+    /**
+     * Returns the latest published generation of this grid. Safe to call from any thread while another thread is
+     *  incrementing the grid: the snapshot always holds one whole generation and its number, and does not change while
+     *  it is held. No locks are taken, so readers never hold up the thread incrementing the grid.
+     *  the snapshot must be closed when done with it, so that its buffer can be recycled
+     *  e.g.
+        try (GridSnapshot snapshot = gameGrid.acquireSnapshot()) {
+            System.out.println(snapshot.getGeneration() + GameOfLife.LF + snapshot.asString());
+        }
+     *
+     * @return GridSnapshot of the latest generation, as this reader's own handle on it
+     * @throws IllegalStateException if snapshot publishing has not been enabled
+     */
+    public GridSnapshot acquireSnapshot() {
+        while(true) {
+            GridSnapshot snapshot = this.publishedSnapshot;
+            if(null == snapshot) {
+                throw new IllegalStateException("Snapshot publishing has not been enabled for this GameGrid");
+            }
+            // this only fails if the snapshot was replaced and is being recycled, so a newer one has been published
+            GridSnapshot readerSnapshot = snapshot.tryAcquire();
+            if(null != readerSnapshot) {
+                return readerSnapshot;
+            }
+        }
+    }
+
+    /**
+     * Publishes the current generation to readers, if snapshot publishing is enabled.
+     *  the snapshot is filled into a retired snapshot that no reader holds any more when there is one, otherwise into
+     *  a new one. a retired snapshot is brought forward from the generation it holds by flipping the cells that changed
+     *  since, so publishing costs in proportion to the changes rather than to the size of the grid
+     *
+     * @param flippedCells CellChangeList of the cells that flipped since the last publish, or null if not known
+     */
+    private void publishSnapshot(CellChangeList flippedCells) {
+        GridSnapshot previousSnapshot = this.publishedSnapshot;
+        if(null == previousSnapshot) {
+            return;
+        }
+        this.publishCount++;
+        if(null == flippedCells) {
+            // snapshots published before now can no longer be brought forward
+            this.publishedFlips.clear();
+        }
+        else {
+            this.publishedFlips.addLast(flippedCells.toArray());
+            if(this.publishedFlips.size() > PUBLISHED_FLIPS_LIMIT) {
+                this.publishedFlips.removeFirst();
+            }
+        }
+
+        GridSnapshot snapshot = null;
+        for(int i = 0; i < this.retiredSnapshots.size() && null == snapshot; i++) {
+            GridSnapshot retiredSnapshot = this.retiredSnapshots.removeFirst();
+            if(retiredSnapshot.tryRecycle()) {
+                snapshot = retiredSnapshot;
+            }
+            else {
+                // still being read, check it again next time
+                this.retiredSnapshots.addLast(retiredSnapshot);
+            }
+        }
+        if(null == snapshot) {
+            snapshot = new GridSnapshot();
+            snapshot.tryRecycle();
+        }
+        if(!bringForward(snapshot)) {
+            copyInto(snapshot);
+        }
+        snapshot.setPublishIndex(this.publishCount);
+        snapshot.endRecycling();
+
+        this.publishedSnapshot = snapshot;
+        this.retiredSnapshots.addLast(previousSnapshot);
+        // snapshots held by slow readers are left to the garbage collector rather than kept forever
+        while(this.retiredSnapshots.size() > RETIRED_SNAPSHOT_LIMIT) {
+            this.retiredSnapshots.removeFirst();
+        }
+    }
+
+    /**
+     * Brings a previously published snapshot forward to the current generation, by flipping the cells that flipped in
+     *  each publish since the one it holds
+     *
+     * @param snapshot GridSnapshot claimed for recycling
+     * @return boolean false if those cells are not all known, so the snapshot has to be refilled instead
+     */
+    private boolean bringForward(GridSnapshot snapshot) {
+        long publishesBehind = this.publishCount - snapshot.getPublishIndex();
+        if(snapshot.getPublishIndex() < 0 || publishesBehind > this.publishedFlips.size()) {
+            return false;
+        }
+        // a cell that flipped in several of the publishes flips back & forth, so the order they are applied in is irrelevant
+        Iterator<long[]> newestFlips = this.publishedFlips.descendingIterator();
+        for(long i = 0; i < publishesBehind; i++) {
+            for(long cell : newestFlips.next()) {
+                snapshot.flip(cell);
+            }
+        }
+        snapshot.setGeneration(this.generation);
+        return true;
+    }
+
+    private GenerationHistory getHistory() {
+        if(null == this.history) {
+            throw new IllegalStateException("History has not been enabled for this GameGrid");
+        }
+        return this.history;
+    }
+
+    enum CellStatus {
         Dead(DEAD_SYMBOL),
         Alive(ALIVE_SYMBOL)
         ;
@@ -192,6 +654,14 @@ public class GameGrid {
         this.colCount = colCount > 0 ? colCount : 0;
         // create grid using rowCount & colCount
         this.grid = new CellStatus[this.rowCount][this.colCount];
+        this.nextGrid = new CellStatus[this.rowCount][this.colCount];
+        this.privateRows = new boolean[this.rowCount];
+        Arrays.fill(this.privateRows, true);
+        this.privateNextRows = new boolean[this.rowCount];
+        Arrays.fill(this.privateNextRows, true);
+        this.previousGenerationInNext = false;
+        this.tilePopulation = new int[tileCount(this.rowCount)][tileCount(this.colCount)];
+        this.tilePopulationShared = false;
         // start with a Dead Grid
         killGrid();
     }
@@ -203,9 +673,121 @@ public class GameGrid {
         if(null != this.grid && grid.length > 0 && this.rowCount > 0 && this.colCount > 0) {
             // iterate through the rows and set each cell to Dead
             for (int y = 0; y < this.rowCount; y++) {
-                Arrays.fill(this.grid[y], CellStatus.Dead);
+                Arrays.fill(writableRow(y), CellStatus.Dead);
+            }
+            for(int[] tileRow : writableTilePopulation()) {
+                Arrays.fill(tileRow, 0);
+            }
+        }
+        this.population = 0;
+    }
+
+    /**
+     * @param cellCount int as # of rows or cols
+     * @return int as # of tiles needed to cover that many rows or cols
+     */
+    static int tileCount(int cellCount) {
+        return (cellCount + TILE_SIZE - 1) >> TILE_SHIFT;
+    }
+
+    /**
+     * Recounts the Alive cells of every tile from the grid
+     */
+    private void countTilePopulation() {
+        for(int[] tileRow : writableTilePopulation()) {
+            Arrays.fill(tileRow, 0);
+        }
+        this.population = 0;
+        for(int row = 0; row < this.rowCount; row++) {
+            for(int col = 0; col < this.colCount; col++) {
+                if(this.grid[row][col] == CellStatus.Alive) {
+                    this.tilePopulation[row >> TILE_SHIFT][col >> TILE_SHIFT]++;
+                    this.population++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Brings the tile populations up to date with the cells that flipped in the last generation,
+     *  so keeping them costs time in proportion to the changes rather than to the size of the grid
+     */
+    private void updateTilePopulation() {
+        int[][] tilePopulation = this.changedCells.size() > 0 ? writableTilePopulation() : this.tilePopulation;
+        for(int i = 0; i < this.changedCells.size(); i++) {
+            long cell = this.changedCells.get(i);
+            int row = (int) (cell / this.colCount);
+            int col = (int) (cell % this.colCount);
+            int populationChange = this.grid[row][col] == CellStatus.Alive ? 1 : -1;
+            tilePopulation[row >> TILE_SHIFT][col >> TILE_SHIFT] += populationChange;
+            this.population += populationChange;
+        }
+    }
+
+    /**
+     * Returns the given row of the grid for writing, first copying it if it is shared with a fork
+     *
+     * @param row int
+     * @return CellStatus[] as the row, private to this GameGrid
+     */
+    private CellStatus[] writableRow(int row) {
+        if(null == this.privateRows) {
+            // the outer array is shared as well, so it is copied first. its rows are still shared
+            this.grid = this.grid.clone();
+            this.privateRows = new boolean[this.rowCount];
+        }
+        if(!this.privateRows[row]) {
+            this.grid[row] = this.grid[row].clone();
+            this.privateRows[row] = true;
+        }
+        return this.grid[row];
+    }
+
+    /**
+     * @return int[][] as the tile populations for changing, first copied if they are shared with a fork
+     */
+    private int[][] writableTilePopulation() {
+        if(this.tilePopulationShared) {
+            int[][] tilePopulation = new int[this.tilePopulation.length][];
+            for(int tileRow = 0; tileRow < tilePopulation.length; tileRow++) {
+                tilePopulation[tileRow] = this.tilePopulation[tileRow].clone();
             }
+            this.tilePopulation = tilePopulation;
+            this.tilePopulationShared = false;
         }
+        return this.tilePopulation;
+    }
+
+    /**
+     * @return BitSet of the Alive cells in this grid, by flat index (row * colCount + col)
+     */
+    private BitSet getAliveCells() {
+        BitSet aliveCells = new BitSet(this.rowCount * this.colCount);
+        for(int row = 0; row < this.rowCount; row++) {
+            for(int col = 0; col < this.colCount; col++) {
+                if(this.grid[row][col] == CellStatus.Alive) {
+                    aliveCells.set(row * this.colCount + col);
+                }
+            }
+        }
+        return aliveCells;
+    }
+
+    /**
+     * Replaces every cell in this grid, making the cells in the given BitSet Alive and all others Dead
+     *
+     * @param aliveCells BitSet of the Alive cells, by flat index (row * colCount + col)
+     */
+    private void loadAliveCells(BitSet aliveCells) {
+        killGrid();
+        for(int cell = aliveCells.nextSetBit(0); cell >= 0; cell = aliveCells.nextSetBit(cell + 1)) {
+            int row = cell / this.colCount;
+            int col = cell % this.colCount;
+            writableRow(row)[col] = CellStatus.Alive;
+            this.tilePopulation[row >> TILE_SHIFT][col >> TILE_SHIFT]++;
+            this.population++;
+        }
+        this.previousGenerationInNext = false;
     }
 
     /**
@@ -269,213 +851,197 @@ public class GameGrid {
         return (row >= 0 && col >= 0) && (row < this.rowCount && col < this.colCount);
     }
 
-    /**
-     * Retrieves the Alive/Dead status of the cell indicated by the coordinates.
-     *  if the coordinates are not found in the grid, Dead is returned
-     *
-     * @param row int
-     * @param col int
-     * @return CellStatus
-     */
-    private CellStatus getCellStatus(int row, int col) {
-        return isCellInGrid(row, col) ? grid[row][col] : CellStatus.Dead;
+    @Override
+    public String toString() {
+        return "GameGrid{" +
+                "grid=" + Arrays.deepToString(grid) +
+                ", rowCount=" + rowCount +
+                ", colCount=" + colCount +
+                '}';
     }
 
     /**
-     * Given the grid coordinates indicated by row & col:
-     *  return true if the current cell is Dead
-     *
-     * @param row int
-     * @param col int
-     * @return boolean true if this cell is Dead
+     * Builds a String representation of the GameGrid
      */
-    private boolean isCellDead(int row, int col) {
-        return getCellStatus(row, col).equals(CellStatus.Dead);
-    }
+    public String asString() {
+        StringBuilder output = new StringBuilder();
 
-    /**
-     * Given the grid coordinates indicated by row & col:
-     *  return true if the current cell is Alive
-     *
-     * @param row int
-     * @param col int
-     * @return boolean true if this cell is Alive
-     */
-    private boolean isCellAlive(int row, int col) {
-        return getCellStatus(row, col).equals(CellStatus.Alive);
+        if(null != this.grid) {
+            // TODO: can do better than O(n^2)?
+            for (int row = 0; row < this.rowCount; row++) {
+                for (int col = 0; col < this.colCount; col++) {
+                    // if this is not the 1st row, and is the 1st column of the row, add return carriage
+                    if (row != 0 && col == 0) {
+                        output.append(GameOfLife.LF);
+                    }
+                    output.append(isCellInGrid(row, col) ? this.grid[row][col].getSymbol() : '_');
+                }
+            }
+        }
+
+        return output.toString();
     }
 
     /**
-     * Given the grid coordinates indicated by row & col:
-     *  checks the adjacent cells to count how many are alive
-     *  this takes into account that the given coordinate might be at the edge of the grid
+     * Builds a String representation of only the given region of the GameGrid, in the same format as asString().
+     *  the region is clipped to the grid, and tiles without any Alive cells are written without visiting their cells,
+     *  so the cost is in proportion to the size of the region rather than the size of the grid
      *
-     * @param row int
-     * @param col int
-     * @return int as count of living neighbors
+     * @param region GridRegion as the rectangle to render
+     * @return String
      */
-    private int countLivingNeighbors(int row, int col) {
-
-        int livingNeighborCount = 0;
-
-        /**
-         * Checks if the upper left cell is alive (O = current cell, # = cell to check)
-             #xx
-             xOx
-             xxx
-        */
-        if(isCellInGrid(row - 1, col - 1) && isCellAlive(row - 1, col - 1)) {
-            livingNeighborCount++;
-        }
-        /**
-         * Checks if the upper cell is alive (O = current cell, # = cell to check)
-             x#x
-             xOx
-             xxx
-        */
-        if(isCellInGrid(row - 1, col) && isCellAlive(row - 1, col)) {
-            livingNeighborCount++;
-        }
-        /**
-         * Checks if the upper right cell is alive (O = current cell, # = cell to check)
-             xx#
-             xOx
-             xxx
-        */
-        if(isCellInGrid(row - 1, col + 1) && isCellAlive(row - 1, col + 1)) {
-            livingNeighborCount++;
-        }
-        /**
-         * Checks if the left cell is alive (O = current cell, # = cell to check)
-             xxx
-             #Ox
-             xxx
-        */
-        if(isCellInGrid(row, col - 1) && isCellAlive(row, col - 1)) {
-            livingNeighborCount++;
-        }
-        /**
-         * Checks if the right cell is alive (O = current cell, # = cell to check)
-             xxx
-             xO#
-             xxx
-        */
-        if(isCellInGrid(row, col + 1) && isCellAlive(row, col + 1)) {
-            livingNeighborCount++;
-        }
-        /**
-         * Checks if the lower left cell is alive (O = current cell, # = cell to check)
-             xxx
-             xOx
-             #xx
-        */
-        if(isCellInGrid(row + 1, col - 1) && isCellAlive(row + 1, col - 1)) {
-            livingNeighborCount++;
+    public String asString(GridRegion region) {
+        GridRegion clippedRegion = clipToGrid(region);
+        if(clippedRegion.isEmpty()) {
+            return "";
         }
-        /**
-         * Checks if the lower cell is alive (O = current cell, # = cell to check)
-             xxx
-             xOx
-             x#x
-        */
-        if(isCellInGrid(row + 1, col) && isCellAlive(row + 1, col)) {
-            livingNeighborCount++;
-        }
-        /**
-         * Checks if the lower right cell is alive (O = current cell, # = cell to check)
-             xxx
-             xOx
-             xx#
-        */
-        if(isCellInGrid(row + 1, col + 1) && isCellAlive(row + 1, col + 1)) {
-            livingNeighborCount++;
+        int lastRow = clippedRegion.getRow() + clippedRegion.getRowCount();
+        int lastCol = clippedRegion.getCol() + clippedRegion.getColCount();
+        StringBuilder output = new StringBuilder(clippedRegion.getRowCount() * (clippedRegion.getColCount() + GameOfLife.LF.length()));
+
+        for(int row = clippedRegion.getRow(); row < lastRow; row++) {
+            if(row != clippedRegion.getRow()) {
+                output.append(GameOfLife.LF);
+            }
+            int[] tileRow = this.tilePopulation[row >> TILE_SHIFT];
+            int col = clippedRegion.getCol();
+            while(col < lastCol) {
+                // the columns of this row that fall in the same tile
+                int tileEnd = Math.min(((col >> TILE_SHIFT) + 1) << TILE_SHIFT, lastCol);
+                if(tileRow[col >> TILE_SHIFT] == 0) {
+                    for(; col < tileEnd; col++) {
+                        output.append(DEAD_SYMBOL);
+                    }
+                }
+                else {
+                    for(; col < tileEnd; col++) {
+                        output.append(this.grid[row][col].getSymbol());
+                    }
+                }
+            }
         }
 
-        return livingNeighborCount;
+        return output.toString();
     }
 
     /**
-     * Given the grid coordinates indicated by row & col:
-     *  run the 1st rule outlined in the game on the cell during a generation change
-     *
-     *   1. Any live cell with fewer than two live neighbours dies, as if caused by underpopulation.
+     * Counts the Alive cells in the given region of the GameGrid.
+     *  tiles entirely inside the region are counted from their tile population, only the tiles on the edge of
+     *  the region that have Alive cells are visited cell by cell
      *
-     * @param row int
-     * @param col int
+     * @param region GridRegion as the rectangle to count, clipped to the grid
+     * @return long as # of Alive cells in the region
      */
-    private boolean matchesRuleOne(int row, int col) {
-        return isCellAlive(row, col) && countLivingNeighbors(row, col) < 2;
-    }
+    public long countLiveCells(GridRegion region) {
+        GridRegion clippedRegion = clipToGrid(region);
+        if(clippedRegion.isEmpty()) {
+            return 0;
+        }
+        int firstRow = clippedRegion.getRow();
+        int firstCol = clippedRegion.getCol();
+        int lastRow = firstRow + clippedRegion.getRowCount();
+        int lastCol = firstCol + clippedRegion.getColCount();
 
-    /**
-     * Given the grid coordinates indicated by row & col:
-     *  run the 2nd rule outlined in the game on the cell during a generation change
-     *
-     *   2. Any live cell with more than three live neighbours dies, as if by overcrowding.
-     *
-     * @param row int
-     * @param col int
-     */
-    private boolean matchesRuleTwo(int row, int col) {
-        return isCellAlive(row, col) && countLivingNeighbors(row, col) > 3;
+        long liveCellCount = 0;
+        for(int tileRow = firstRow >> TILE_SHIFT; tileRow <= (lastRow - 1) >> TILE_SHIFT; tileRow++) {
+            int tileFirstRow = Math.max(tileRow << TILE_SHIFT, firstRow);
+            int tileLastRow = Math.min((tileRow + 1) << TILE_SHIFT, lastRow);
+            for(int tileCol = firstCol >> TILE_SHIFT; tileCol <= (lastCol - 1) >> TILE_SHIFT; tileCol++) {
+                int population = this.tilePopulation[tileRow][tileCol];
+                if(population == 0) {
+                    continue;
+                }
+                int tileFirstCol = Math.max(tileCol << TILE_SHIFT, firstCol);
+                int tileLastCol = Math.min((tileCol + 1) << TILE_SHIFT, lastCol);
+                if(tileFirstRow == tileRow << TILE_SHIFT && tileLastRow == Math.min((tileRow + 1) << TILE_SHIFT, this.rowCount)
+                        && tileFirstCol == tileCol << TILE_SHIFT && tileLastCol == Math.min((tileCol + 1) << TILE_SHIFT, this.colCount)) {
+                    // the whole tile is in the region
+                    liveCellCount += population;
+                }
+                else {
+                    liveCellCount += countLiveCells(tileFirstRow, tileLastRow, tileFirstCol, tileLastCol);
+                }
+            }
+        }
+        return liveCellCount;
     }
 
     /**
-     * Given the grid coordinates indicated by row & col:
-     *  run the 3rd rule outlined in the game on the cell during a generation change
-     *
-     *   3. Any live cell with two or three live neighbours lives on to the next generation.
+     * Finds the smallest region that contains every Alive cell of the GameGrid.
+     *  the tile populations narrow the search down to the outermost tiles with Alive cells,
+     *  and only the edge rows & cols of those tiles are visited cell by cell
      *
-     * @param row int
-     * @param col int
+     * @return GridRegion as the bounding box of the Alive cells, empty if there are none
      */
-    private boolean matchesRuleThree(int row, int col) {
-        int livingNeighbors = countLivingNeighbors(row, col);
-        return isCellAlive(row, col) && (livingNeighbors == 2 || livingNeighbors == 3);
-    }
+    public GridRegion getLiveBoundingBox() {
+        int firstTileRow = -1;
+        int lastTileRow = -1;
+        int firstTileCol = Integer.MAX_VALUE;
+        int lastTileCol = -1;
+        for(int tileRow = 0; tileRow < this.tilePopulation.length; tileRow++) {
+            for(int tileCol = 0; tileCol < this.tilePopulation[tileRow].length; tileCol++) {
+                if(this.tilePopulation[tileRow][tileCol] > 0) {
+                    if(firstTileRow < 0) {
+                        firstTileRow = tileRow;
+                    }
+                    lastTileRow = tileRow;
+                    firstTileCol = Math.min(firstTileCol, tileCol);
+                    lastTileCol = Math.max(lastTileCol, tileCol);
+                }
+            }
+        }
+        if(firstTileRow < 0) {
+            return new GridRegion(0, 0, 0, 0);
+        }
 
-    /**
-     * Given the grid coordinates indicated by row & col:
-     *  run the 4th rule outlined in the game on the cell during a generation change
-     *
-     *   4. Any dead cell with exactly three live neighbours becomes a live cell.
-     *
-     * @param row int
-     * @param col int
-     */
-    private boolean matchesRuleFour(int row, int col) {
-        return isCellDead(row, col) && countLivingNeighbors(row, col) == 3;
-    }
+        // the cells of the bounding tiles
+        int firstRow = firstTileRow << TILE_SHIFT;
+        int lastRow = Math.min((lastTileRow + 1) << TILE_SHIFT, this.rowCount) - 1;
+        int firstCol = firstTileCol << TILE_SHIFT;
+        int lastCol = Math.min((lastTileCol + 1) << TILE_SHIFT, this.colCount) - 1;
 
-    @Override
-    public String toString() {
-        return "GameGrid{" +
-                "grid=" + Arrays.deepToString(grid) +
-                ", rowCount=" + rowCount +
-                ", colCount=" + colCount +
-                '}';
+        // shrink each edge until it touches an Alive cell. an edge tile always has one, so none of these run past it
+        while(countLiveCells(firstRow, firstRow + 1, firstCol, lastCol + 1) == 0) {
+            firstRow++;
+        }
+        while(countLiveCells(lastRow, lastRow + 1, firstCol, lastCol + 1) == 0) {
+            lastRow--;
+        }
+        while(countLiveCells(firstRow, lastRow + 1, firstCol, firstCol + 1) == 0) {
+            firstCol++;
+        }
+        while(countLiveCells(firstRow, lastRow + 1, lastCol, lastCol + 1) == 0) {
+            lastCol--;
+        }
+
+        return new GridRegion(firstRow, firstCol, lastRow - firstRow + 1, lastCol - firstCol + 1);
     }
 
     /**
-     * Builds a String representation of the GameGrid
+     * Counts the Alive cells of the grid, cell by cell, in the rows [firstRow, lastRow) and cols [firstCol, lastCol)
      */
-    public String asString() {
-        StringBuilder output = new StringBuilder();
-
-        if(null != this.grid) {
-            // TODO: can do better than O(n^2)?
-            for (int row = 0; row < this.rowCount; row++) {
-                for (int col = 0; col < this.colCount; col++) {
-                    // if this is not the 1st row, and is the 1st column of the row, add return carriage
-                    if (row != 0 && col == 0) {
-                        output.append(GameOfLife.LF);
-                    }
-                    output.append(isCellInGrid(row, col) ? this.grid[row][col].getSymbol() : '_');
+    private int countLiveCells(int firstRow, int lastRow, int firstCol, int lastCol) {
+        int liveCellCount = 0;
+        for(int row = firstRow; row < lastRow; row++) {
+            for(int col = firstCol; col < lastCol; col++) {
+                if(this.grid[row][col] == CellStatus.Alive) {
+                    liveCellCount++;
                 }
             }
         }
+        return liveCellCount;
+    }
 
-        return output.toString();
+    /**
+     * @param region GridRegion
+     * @return GridRegion as the part of the given region that is inside this grid
+     */
+    private GridRegion clipToGrid(GridRegion region) {
+        int firstRow = Math.max(region.getRow(), 0);
+        int firstCol = Math.max(region.getCol(), 0);
+        int lastRow = Math.min(region.getRow() + region.getRowCount(), this.rowCount);
+        int lastCol = Math.min(region.getCol() + region.getColCount(), this.colCount);
+        return new GridRegion(firstRow, firstCol, lastRow - firstRow, lastCol - firstCol);
     }
 
     /**
@@ -483,41 +1049,39 @@ public class GameGrid {
      *  the result is an updated grid and an incremented generation
      */
     public void incrementGeneration() {
-        CellStatus[][] nextGenerationGrid = new CellStatus[rowCount][colCount];
-        // TODO: can do better than O(n^2)?
-        for (int row = 0; row < this.rowCount; row++) {
-            for(int col = 0; col < this.colCount; col++) {
-                // enforce rules on this cell
-                if(isCellInGrid(row, col)) {
-                    //   1. Any live cell with fewer than two live neighbours dies, as if caused by underpopulation.
-                    if(matchesRuleOne(row, col)) {
-                        // kill cell
-                        nextGenerationGrid[row][col] = CellStatus.Dead;
-                    }
-                    //   2. Any live cell with more than three live neighbours dies, as if by overcrowding.
-                    else if(matchesRuleTwo(row, col)) {
-                        // kill cell
-                        nextGenerationGrid[row][col] = CellStatus.Dead;
-                    }
-                    //   3. Any live cell with two or three live neighbours lives on to the next generation.
-                    else if(matchesRuleThree(row, col)) {
-                        // resurrect cell
-                        nextGenerationGrid[row][col] = CellStatus.Alive;
-                    }
-                    //   4. Any dead cell with exactly three live neighbours becomes a live cell.
-                    else if(matchesRuleFour(row, col)) {
-                        // resurrect cell
-                        nextGenerationGrid[row][col] = CellStatus.Alive;
-                    }
-                    else {
-                        // just copy cell
-                        nextGenerationGrid[row][col] = this.grid[row][col];
-                    }
-                }
-            }
+        // the changes of the last generation become the previous changes
+        CellChangeList previousChangedCells = this.changedCells;
+        this.changedCells = this.spareChangedCells;
+        this.spareChangedCells = previousChangedCells;
+        this.changedCells.clear();
+
+        if(null == this.privateNextRows) {
+            // nextGrid is shared with a fork. its rows are copied by the engine as it writes them
+            this.nextGrid = this.nextGrid.clone();
+            this.privateNextRows = new boolean[this.rowCount];
         }
+        this.step.current = this.grid;
+        this.step.next = this.nextGrid;
+        this.step.privateNextRows = this.privateNextRows;
+        this.step.rowCount = this.rowCount;
+        this.step.colCount = this.colCount;
+        this.step.population = this.population;
+        this.step.previousGenerationInNext = this.previousGenerationInNext;
+        this.step.previousChangedCells = previousChangedCells;
+        this.step.changedCells = this.changedCells;
+        this.stepEngine.step(this.step);
 
-        this.grid = nextGenerationGrid;
+        // the current generation is kept as the previous one, to be overwritten by the generation after next
+        this.nextGrid = this.grid;
+        this.grid = this.step.next;
+        boolean[] previousPrivateRows = this.privateRows;
+        this.privateRows = this.privateNextRows;
+        this.privateNextRows = previousPrivateRows;
+        this.previousGenerationInNext = true;
         this.generation++;
+        updateTilePopulation();
+
+        recordHistory();
+        publishSnapshot(this.changedCells);
     }
 }
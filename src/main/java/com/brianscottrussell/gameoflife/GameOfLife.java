@@ -53,17 +53,122 @@ public class GameOfLife {
             + "........"
             ;
     private static final String DEFAULT_INPUT_FILE_LOCATION = "DefaultInputGrid.txt";
+    private static final int DEFAULT_GENERATIONS = 2;
+    private static final String DELTA_OUTPUT_ARG = "--delta";
+    private static final String PIPELINED_OUTPUT_ARG = "--pipelined";
+    private static final String UNBOUNDED_ARG = "--unbounded";
+    private static final String GENERATIONS_ARG_PREFIX = "--generations=";
+    private static final String ENGINE_ARG_PREFIX = "--engine=";
+    private static final String SOUP_SEARCH_ARG_PREFIX = "--soup-search=";
+    private static final String SEED_ARG_PREFIX = "--seed=";
+    // # of generations that can be waiting to be printed in the Pipelined output mode
+    private static final int PIPELINED_BUFFER_COUNT = 4;
+
+    /**
+     * How each generation is written to the console
+     */
+    private enum OutputMode {
+        // the whole grid, every generation
+        Full,
+        // the starting grid, then only the births & deaths of each generation. see GenerationDelta
+        Delta,
+        // the whole grid, every generation, rendered & written on a separate thread while the next one is computed
+        Pipelined
+    }
 
     public static void main(String[] args) {
         String inputFileLocation = DEFAULT_INPUT_FILE_LOCATION;
+        OutputMode outputMode = OutputMode.Full;
+        int generations = DEFAULT_GENERATIONS;
+        StepStrategy stepStrategy = StepStrategy.Dense;
+        long soupCount = 0;
+        long firstSeed = 1;
+        boolean unbounded = false;
+        boolean engineChosen = false;
+        boolean deltaChosen = false;
+        boolean pipelinedChosen = false;
+
+        if(null != args) {
+            for(String arg : args) {
+                if(DELTA_OUTPUT_ARG.equals(arg)) {
+                    outputMode = OutputMode.Delta;
+                    deltaChosen = true;
+                }
+                else if(PIPELINED_OUTPUT_ARG.equals(arg)) {
+                    outputMode = OutputMode.Pipelined;
+                    pipelinedChosen = true;
+                }
+                else if(UNBOUNDED_ARG.equals(arg)) {
+                    unbounded = true;
+                }
+                else if(arg.startsWith(GENERATIONS_ARG_PREFIX)) {
+                    try {
+                        generations = Integer.parseInt(arg.substring(GENERATIONS_ARG_PREFIX.length()));
+                    } catch (NumberFormatException e) {
+                        System.out.println("Invalid generation count: " + arg + ". Using " + DEFAULT_GENERATIONS + " generations.");
+                    }
+                }
+                else if(arg.startsWith(ENGINE_ARG_PREFIX)) {
+                    StepStrategy namedStepStrategy = StepStrategy.getStepStrategyByName(arg.substring(ENGINE_ARG_PREFIX.length()));
+                    if(null != namedStepStrategy) {
+                        stepStrategy = namedStepStrategy;
+                        engineChosen = true;
+                    }
+                    else {
+                        System.out.println("Unknown engine: " + arg + ". Using " + stepStrategy + ".");
+                    }
+                }
+                else if(arg.startsWith(SOUP_SEARCH_ARG_PREFIX)) {
+                    try {
+                        soupCount = Long.parseLong(arg.substring(SOUP_SEARCH_ARG_PREFIX.length()));
+                    } catch (NumberFormatException e) {
+                        System.out.println("Invalid soup count: " + arg + ".");
+                    }
+                }
+                else if(arg.startsWith(SEED_ARG_PREFIX)) {
+                    try {
+                        firstSeed = Long.parseLong(arg.substring(SEED_ARG_PREFIX.length()));
+                    } catch (NumberFormatException e) {
+                        System.out.println("Invalid seed: " + arg + ". Using " + firstSeed + ".");
+                    }
+                }
+                else {
+                    inputFileLocation = arg;
+                }
+            }
+        }
+
+        // the modes each do their own computing & printing, so the options of one do not carry over to another
+        if(deltaChosen && pipelinedChosen) {
+            System.out.println(DELTA_OUTPUT_ARG + " and " + PIPELINED_OUTPUT_ARG + " cannot be combined.");
+            return;
+        }
+        if((soupCount > 0 || unbounded) && (engineChosen || deltaChosen || pipelinedChosen)) {
+            System.out.println((soupCount > 0 ? SOUP_SEARCH_ARG_PREFIX + "COUNT" : UNBOUNDED_ARG) + " cannot be combined with "
+                    + ENGINE_ARG_PREFIX + "NAME, " + DELTA_OUTPUT_ARG + " or " + PIPELINED_OUTPUT_ARG + ".");
+            return;
+        }
+        if(soupCount > 0 && unbounded) {
+            System.out.println(SOUP_SEARCH_ARG_PREFIX + "COUNT cannot be combined with " + UNBOUNDED_ARG + ".");
+            return;
+        }
 
-        if(null != args && args.length > 0) {
-            inputFileLocation = args[0];
+        if(soupCount > 0) {
+            runSoupSearch(firstSeed, soupCount);
+            return;
         }
 
         String inputGrid = readInputGridFromFileLocation(inputFileLocation);
 
-        runGameOfLife(inputGrid, 2);
+        if(unbounded) {
+            runUnboundedGameOfLife(inputGrid, generations);
+        }
+        else if(outputMode == OutputMode.Pipelined) {
+            runGameOfLifePipelined(inputGrid, generations, stepStrategy);
+        }
+        else {
+            runGameOfLife(inputGrid, generations, outputMode, stepStrategy);
+        }
     }
 
     /**
@@ -72,20 +177,100 @@ public class GameOfLife {
      *
      * @param gameGridInput String
      * @param generations Integer
+     * @param outputMode OutputMode as how each generation is printed
+     * @param stepStrategy StepStrategy as how each generation is computed
      */
-    private static void runGameOfLife(String gameGridInput, Integer generations) {
+    private static void runGameOfLife(String gameGridInput, Integer generations, OutputMode outputMode, StepStrategy stepStrategy) {
         // instantiate a new GameGrid using the input as string
         GameGrid gameGrid = new GameGrid(gameGridInput);
+        gameGrid.setStepStrategy(stepStrategy);
 
         // print 1st generation
-        printGeneration(gameGrid);
+        if(outputMode == OutputMode.Delta) {
+            printStartingGrid(gameGrid);
+        }
+        else {
+            printGeneration(gameGrid);
+        }
 
         // loop through the generations requested to print out the resulting grid
         while(gameGrid.getGeneration() < generations) {
             // update the gameGrid for this generation
             gameGrid.incrementGeneration();
             // print generation
-            printGeneration(gameGrid);
+            if(outputMode == OutputMode.Delta) {
+                printGenerationDelta(gameGrid);
+            }
+            else {
+                printGeneration(gameGrid);
+            }
+        }
+    }
+
+    /**
+     * Runs the Game of Life like runGameOfLife(), but prints each generation on a separate thread so that computing
+     *   the next generation overlaps with rendering and writing the previous one.
+     *   at most PIPELINED_BUFFER_COUNT generations are waiting to be printed at any time
+     *
+     * @param gameGridInput String
+     * @param generations Integer
+     * @param stepStrategy StepStrategy as how each generation is computed
+     */
+    private static void runGameOfLifePipelined(String gameGridInput, Integer generations, StepStrategy stepStrategy) {
+        // instantiate a new GameGrid using the input as string
+        GameGrid gameGrid = new GameGrid(gameGridInput);
+        gameGrid.setStepStrategy(stepStrategy);
+        // the printing thread writes each generation as one String, so System.out flushes once per generation. it is
+        //   written to directly, since a PrintStream wrapped around it would not see its write errors
+        try (PipelinedGenerationPrinter printer = new PipelinedGenerationPrinter(System.out, PIPELINED_BUFFER_COUNT)) {
+            // print 1st generation
+            printer.print(gameGrid);
+
+            // loop through the generations requested, handing each one to the printing thread
+            while(gameGrid.getGeneration() < generations) {
+                gameGrid.incrementGeneration();
+                printer.print(gameGrid);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (GenerationPrintingException e) {
+            // the output is what failed, so the failure is reported on stderr
+            System.err.println(e.getMessage() + (null != e.getCause() ? ": " + e.getCause().getMessage() : ""));
+        }
+    }
+
+    /**
+     * Runs the Game of Life on an UnboundedGameGrid, starting from the input grid placed at 0:0.
+     *  each generation is printed as its live bounding box, headed by the row:col of the box's top-left cell
+     *
+     * @param gameGridInput String
+     * @param generations Integer
+     */
+    private static void runUnboundedGameOfLife(String gameGridInput, Integer generations) {
+        UnboundedGameGrid unboundedGameGrid = new UnboundedGameGrid(gameGridInput);
+
+        // print 1st generation
+        printUnboundedGeneration(unboundedGameGrid);
+
+        // loop through the generations requested to print out the live part of the plane
+        while(unboundedGameGrid.getGeneration() < generations) {
+            unboundedGameGrid.incrementGeneration();
+            printUnboundedGeneration(unboundedGameGrid);
+        }
+    }
+
+    /**
+     * Runs a SoupSearch on every available processor and prints its report
+     *
+     * @param firstSeed long as the seed of the first soup
+     * @param soupCount long as the number of soups to run
+     */
+    private static void runSoupSearch(long firstSeed, long soupCount) {
+        try {
+            SoupSearch.Result result = new SoupSearch(firstSeed, soupCount, Runtime.getRuntime().availableProcessors()).run();
+            System.out.println(result.asString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -109,6 +294,56 @@ public class GameOfLife {
         System.out.println( gameGrid.asString() );
     }
 
+    /**
+     * prints the generation with a header giving the top-left cell of its live bounding box, and the bounding box
+     *  e.g.
+        Generation 2 at 1:3
+        *.
+        **
+     *
+     * @param unboundedGameGrid
+     */
+    private static void printUnboundedGeneration(UnboundedGameGrid unboundedGameGrid) {
+        GridRegion liveBoundingBox = unboundedGameGrid.getLiveBoundingBox();
+        // adding a line for easier readability
+        System.out.println();
+        // print grid header
+        System.out.println( "Generation " + unboundedGameGrid.getGeneration() + " at " + liveBoundingBox.getRow() + ":" + liveBoundingBox.getCol() );
+        // print grid
+        System.out.println( unboundedGameGrid.asString(liveBoundingBox) );
+    }
+
+    /**
+     * prints the grid in the same format as the input, so the delta output can be read back by GenerationDeltaReader
+     *  e.g.
+        4 8
+        ........
+        ....*...
+        ...**...
+        ........
+     *
+     * @param gameGrid
+     */
+    private static void printStartingGrid(GameGrid gameGrid) {
+        // print grid header
+        System.out.println( gameGrid.getRowCount() + " " + gameGrid.getColCount() );
+        // print grid
+        System.out.println( gameGrid.asString() );
+    }
+
+    /**
+     * prints only the cells that changed in the generation
+     *  e.g.
+        Generation 2
+        + 2:4
+        -
+     *
+     * @param gameGrid
+     */
+    private static void printGenerationDelta(GameGrid gameGrid) {
+        System.out.println( gameGrid.getLastDelta().asString() );
+    }
+
     /**
      * Given the file location, attempts to read the input grid from text file
      *
@@ -0,0 +1,174 @@
+package com.brianscottrussell.gameoflife;
+
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Arrays;
+
+/**
+ * The cells that were born and the cells that died when a GameGrid moved to a generation.
+ *
+ * As a String, a delta is written on three lines: the generation header, the births and the deaths. Cells are written
+ *  as row:col, and runs of neighboring cells in the same row as row:firstCol-lastCol
+ *  e.g.
+    Generation 2
+    + 1:3 2:3-4
+    - 1:4
+ *
+ * @author brussell
+ */
+public class GenerationDelta {
+
+    static final String GENERATION_PREFIX = "Generation ";
+    private static final String BIRTHS_PREFIX = "+";
+    private static final String DEATHS_PREFIX = "-";
+
+    private final int generation;
+    private final int colCount;
+    // flat indexes (row * colCount + col) in ascending order
+    private final long[] births;
+    private final long[] deaths;
+
+    /**
+     * @param generation int as the generation this delta moves to
+     * @param colCount int as # of cols in the grid, used to turn flat indexes into coordinates
+     * @param births long[] as the flat indexes of the cells born, in ascending order
+     * @param deaths long[] as the flat indexes of the cells that died, in ascending order
+     */
+    GenerationDelta(int generation, int colCount, long[] births, long[] deaths) {
+        this.generation = generation;
+        this.colCount = colCount;
+        this.births = births;
+        this.deaths = deaths;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public int getBirthCount() {
+        return births.length;
+    }
+
+    public int getDeathCount() {
+        return deaths.length;
+    }
+
+    long[] getBirths() {
+        return births;
+    }
+
+    long[] getDeaths() {
+        return deaths;
+    }
+
+    /**
+     * Builds the String representation of this delta, see the class comment for the format
+     */
+    public String asString() {
+        return GENERATION_PREFIX + generation + GameOfLife.LF
+                + BIRTHS_PREFIX + spansAsString(births) + GameOfLife.LF
+                + DEATHS_PREFIX + spansAsString(deaths);
+    }
+
+    /**
+     * Parses a delta from the three lines written by asString()
+     *
+     * @param generationLine String as the "Generation N" line
+     * @param birthsLine String as the "+ ..." line
+     * @param deathsLine String as the "- ..." line
+     * @param colCount int as # of cols in the grid the delta applies to
+     * @return GenerationDelta
+     * @throws InvalidGameGridInputException if any of the lines are not in the expected format
+     */
+    static GenerationDelta parse(String generationLine, String birthsLine, String deathsLine, int colCount) throws InvalidGameGridInputException {
+        if(!StringUtils.startsWith(generationLine, GENERATION_PREFIX)) {
+            throw new InvalidGameGridInputException("Expected a generation header but found: " + generationLine);
+        }
+        try {
+            int generation = Integer.parseInt(StringUtils.trim(StringUtils.substringAfter(generationLine, GENERATION_PREFIX)));
+            return new GenerationDelta(generation, colCount,
+                    parseSpans(birthsLine, BIRTHS_PREFIX, colCount), parseSpans(deathsLine, DEATHS_PREFIX, colCount));
+        } catch (NumberFormatException e) {
+            throw new InvalidGameGridInputException(e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the given cells as row:col, collapsing runs of neighboring cells in the same row into row:firstCol-lastCol
+     *
+     * @param cells long[] as flat indexes in ascending order
+     * @return String with a leading space before each span
+     */
+    private String spansAsString(long[] cells) {
+        StringBuilder output = new StringBuilder();
+        int i = 0;
+        while(i < cells.length) {
+            long row = cells[i] / colCount;
+            int firstCol = (int) (cells[i] % colCount);
+            // extend the run while the next cell is directly to the right, in the same row
+            int lastCol = firstCol;
+            while(i + 1 < cells.length && cells[i + 1] == cells[i] + 1 && (lastCol + 1) < colCount) {
+                lastCol++;
+                i++;
+            }
+            output.append(' ').append(row).append(':').append(firstCol);
+            if(lastCol != firstCol) {
+                output.append('-').append(lastCol);
+            }
+            i++;
+        }
+        return output.toString();
+    }
+
+    private static long[] parseSpans(String line, String prefix, int colCount) throws InvalidGameGridInputException {
+        if(!StringUtils.startsWith(line, prefix)) {
+            throw new InvalidGameGridInputException("Expected a line starting with '" + prefix + "' but found: " + line);
+        }
+        CellChangeList cells = new CellChangeList();
+        for(String span : StringUtils.split(StringUtils.substringAfter(line, prefix))) {
+            int row = Integer.parseInt(StringUtils.substringBefore(span, ":"));
+            String cols = StringUtils.substringAfter(span, ":");
+            int firstCol = Integer.parseInt(StringUtils.substringBefore(cols, "-"));
+            int lastCol = cols.indexOf('-') < 0 ? firstCol : Integer.parseInt(StringUtils.substringAfter(cols, "-"));
+            if(row < 0 || firstCol < 0 || lastCol < firstCol || lastCol >= colCount) {
+                throw new InvalidGameGridInputException("Invalid cell span: " + span);
+            }
+            for(int col = firstCol; col <= lastCol; col++) {
+                cells.add((long) row * colCount + col);
+            }
+        }
+        return cells.toArray();
+    }
+
+    @Override
+    public String toString() {
+        return "GenerationDelta{" +
+                "generation=" + generation +
+                ", births=" + Arrays.toString(births) +
+                ", deaths=" + Arrays.toString(deaths) +
+                '}';
+    }
+}
@@ -0,0 +1,110 @@
+package com.brianscottrussell.gameoflife;
+
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the output of the delta output mode and rebuilds any of its generations.
+ *
+ * The expected input is the starting grid, in the same format as the GameGrid input, followed by one GenerationDelta
+ *  per generation
+ *  e.g.
+    4 8
+    ........
+    ....*...
+    ...**...
+    ........
+    Generation 2
+    + 2:4
+    -
+ *
+ * @author brussell
+ */
+public class GenerationDeltaReader {
+
+    private final String initialGrid;
+    private final int initialGeneration;
+    private final List<GenerationDelta> deltas = new ArrayList<>();
+
+    /**
+     * @param deltaOutput String as written by the delta output mode
+     * @throws InvalidGameGridInputException if the starting grid or any of the deltas are not in the expected format
+     */
+    public GenerationDeltaReader(String deltaOutput) throws InvalidGameGridInputException {
+        String[] lines = StringUtils.split(deltaOutput, GameOfLife.LF);
+        if(null == lines || lines.length == 0) {
+            throw new InvalidGameGridInputException("The delta output is empty");
+        }
+
+        // the starting grid is the header plus one line per row
+        int rowCount = new GameGrid(lines[0] + GameOfLife.LF).getRowCount();
+        if(rowCount == 0 || lines.length < rowCount + 1) {
+            throw new InvalidGameGridInputException("The delta output does not start with a valid grid");
+        }
+        this.initialGrid = StringUtils.join(lines, GameOfLife.LF, 0, rowCount + 1);
+        GameGrid gameGrid = new GameGrid(this.initialGrid);
+        this.initialGeneration = gameGrid.getGeneration();
+
+        // every generation after that is three lines: header, births & deaths
+        int lineIndex = rowCount + 1;
+        for(; lineIndex + 2 < lines.length; lineIndex += 3) {
+            this.deltas.add(GenerationDelta.parse(lines[lineIndex], lines[lineIndex + 1], lines[lineIndex + 2], gameGrid.getColCount()));
+        }
+        if(lineIndex != lines.length) {
+            throw new InvalidGameGridInputException("The delta output ends with an incomplete generation");
+        }
+    }
+
+    /**
+     * @return int as the last generation in the delta output
+     */
+    public int getLastGeneration() {
+        return this.deltas.isEmpty() ? this.initialGeneration : this.deltas.get(this.deltas.size() - 1).getGeneration();
+    }
+
+    /**
+     * Rebuilds the given generation by applying the deltas up to it on top of the starting grid
+     *
+     * @param generation int
+     * @return GameGrid at the given generation
+     * @throws IllegalArgumentException if the generation is not in the delta output
+     */
+    public GameGrid readGeneration(int generation) {
+        if(generation < this.initialGeneration || generation > getLastGeneration()) {
+            throw new IllegalArgumentException("Generation " + generation + " is not in the delta output");
+        }
+        GameGrid gameGrid = new GameGrid(this.initialGrid);
+        for(GenerationDelta delta : this.deltas) {
+            if(delta.getGeneration() > generation) {
+                break;
+            }
+            gameGrid.applyDelta(delta);
+        }
+        return gameGrid;
+    }
+}
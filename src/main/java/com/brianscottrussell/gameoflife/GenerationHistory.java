@@ -0,0 +1,218 @@
+package com.brianscottrussell.gameoflife;
+
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A bounded history of the generations of a GameGrid.
+ *
+ * The history is kept as a series of segments. Each segment starts with a full keyframe of the Alive cells and is
+ *  followed by the cells that flipped (Alive <-> Dead) in each of the next generations, up to keyframeInterval - 1
+ *  of them. Cells are identified by their flat index (row * colCount + col), so a generation in which nothing changed
+ *  costs an empty array rather than a copy of the grid.
+ *
+ * Whole segments are dropped from the oldest end once the newer segments alone still cover at least "capacity"
+ *  generations, so the history always holds the most recent "capacity" generations (and at most keyframeInterval - 1
+ *  more than that).
+ *
+ * @author brussell
+ */
+class GenerationHistory {
+
+    private static final long[] NO_CHANGES = new long[0];
+
+    private final int capacity;
+    private final int keyframeInterval;
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private int size = 0;
+
+    /**
+     * @param capacity int as the minimum number of generations to retain
+     * @param keyframeInterval int as the number of generations covered by each keyframe (keyframe included)
+     */
+    GenerationHistory(int capacity, int keyframeInterval) {
+        if(capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+        }
+        if(keyframeInterval < 1) {
+            throw new IllegalArgumentException("keyframeInterval must be at least 1: " + keyframeInterval);
+        }
+        this.capacity = capacity;
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    /**
+     * @return int as the oldest generation that can still be rebuilt from this history
+     */
+    int getOldestGeneration() {
+        return segments.getFirst().firstGeneration;
+    }
+
+    /**
+     * @return int as the newest generation recorded in this history
+     */
+    int getNewestGeneration() {
+        return getOldestGeneration() + size - 1;
+    }
+
+    /**
+     * @return boolean true if the next generation recorded will be stored as a keyframe
+     */
+    boolean isKeyframeDue() {
+        Segment newest = segments.peekLast();
+        return null == newest || newest.length() == keyframeInterval;
+    }
+
+    /**
+     * Records the given generation.
+     *  the first generation recorded, and every keyframeInterval-th one after it, is stored as a keyframe
+     *  every other generation is stored only as the cells that flipped since the previous generation
+     *
+     * @param generation int as the generation being recorded, must directly follow the newest recorded generation
+     * @param aliveCells BitSet of the Alive cells in this generation, only required when a keyframe is due
+     * @param flippedCells long[] as the flat indexes of the cells that flipped since the previous generation
+     */
+    void record(int generation, BitSet aliveCells, long[] flippedCells) {
+        if(isKeyframeDue()) {
+            segments.addLast(new Segment(generation, aliveCells));
+        }
+        else {
+            segments.getLast().deltas.add(flippedCells.length == 0 ? NO_CHANGES : flippedCells);
+        }
+        size++;
+
+        // drop the oldest segment only while the remaining segments still cover the capacity
+        while(segments.size() > 1 && size - segments.getFirst().length() >= capacity) {
+            size -= segments.removeFirst().length();
+        }
+    }
+
+    /**
+     * Flips a cell in the newest generation, for a cell changed in place rather than by a step.
+     *  the generations before it are kept as they were
+     *
+     * @param cell long as the flat index of the flipped cell
+     */
+    void flipInNewest(long cell) {
+        Segment newest = segments.getLast();
+        if(newest.deltas.isEmpty()) {
+            newest.keyframe.flip((int) cell);
+            return;
+        }
+        // the cell either joins the cells that flipped into the newest generation, or no longer flipped at all
+        long[] flippedCells = newest.deltas.get(newest.deltas.size() - 1);
+        int index = 0;
+        while(index < flippedCells.length && flippedCells[index] != cell) {
+            index++;
+        }
+        long[] newFlippedCells;
+        if(index < flippedCells.length) {
+            newFlippedCells = new long[flippedCells.length - 1];
+            System.arraycopy(flippedCells, 0, newFlippedCells, 0, index);
+            System.arraycopy(flippedCells, index + 1, newFlippedCells, index, newFlippedCells.length - index);
+        }
+        else {
+            newFlippedCells = Arrays.copyOf(flippedCells, flippedCells.length + 1);
+            newFlippedCells[flippedCells.length] = cell;
+        }
+        newest.deltas.set(newest.deltas.size() - 1, newFlippedCells.length == 0 ? NO_CHANGES : newFlippedCells);
+    }
+
+    /**
+     * Rebuilds the Alive cells of the given generation from the nearest keyframe at or before it
+     *
+     * @param generation int
+     * @return BitSet of the Alive cells in that generation
+     */
+    BitSet rebuild(int generation) {
+        Segment segment = findSegment(generation);
+        BitSet aliveCells = (BitSet) segment.keyframe.clone();
+        for(int i = 0; i < generation - segment.firstGeneration; i++) {
+            for(long flippedCell : segment.deltas.get(i)) {
+                aliveCells.flip((int) flippedCell);
+            }
+        }
+        return aliveCells;
+    }
+
+    /**
+     * Forgets every generation after the given generation, so that recording can continue from it
+     *
+     * @param generation int
+     */
+    void truncateAfter(int generation) {
+        Segment segment = findSegment(generation);
+        while(segments.getLast() != segment) {
+            size -= segments.removeLast().length();
+        }
+        List<long[]> deltas = segment.deltas;
+        int keep = generation - segment.firstGeneration;
+        size -= deltas.size() - keep;
+        deltas.subList(keep, deltas.size()).clear();
+    }
+
+    /**
+     * @param generation int
+     * @return boolean true if the given generation can be rebuilt from this history
+     */
+    boolean contains(int generation) {
+        return !segments.isEmpty() && generation >= getOldestGeneration() && generation <= getNewestGeneration();
+    }
+
+    private Segment findSegment(int generation) {
+        if(!contains(generation)) {
+            throw new IllegalArgumentException("Generation " + generation + " is not in the history");
+        }
+        // walk from the newest end, since rewinds are most often to recent generations
+        Iterator<Segment> iterator = segments.descendingIterator();
+        Segment segment = iterator.next();
+        while(segment.firstGeneration > generation) {
+            segment = iterator.next();
+        }
+        return segment;
+    }
+
+    /**
+     * A keyframe and the deltas for the generations that follow it
+     */
+    private static class Segment {
+        private final int firstGeneration;
+        private final BitSet keyframe;
+        private final List<long[]> deltas = new ArrayList<>();
+
+        private Segment(int firstGeneration, BitSet keyframe) {
+            this.firstGeneration = firstGeneration;
+            this.keyframe = keyframe;
+        }
+
+        private int length() {
+            return 1 + deltas.size();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.brianscottrussell.gameoflife;
+
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+/**
+ * Everything a StepEngine needs to move a GameGrid to its next generation.
+ *
+ * The GameGrid keeps two grids and swaps them every generation: "current" holds the current generation and "next" is
+ *  overwritten with the next one. When previousGenerationInNext is true, "next" still holds the previous generation and
+ *  previousChangedCells lists exactly the cells that flipped between it and "current", which lets an engine bring "next"
+ *  up to date in time proportional to those changes instead of rewriting every cell.
+ *
+ * @author brussell
+ */
+class GenerationStep {
+
+    GameGrid.CellStatus[][] current;
+    GameGrid.CellStatus[][] next;
+    // privateNextRows[row] is true when next[row] belongs to this grid alone, otherwise it is shared with a fork of the
+    //  grid and has to be copied before it is written. see writableNextRow()
+    boolean[] privateNextRows;
+    int rowCount;
+    int colCount;
+    // # of Alive cells in "current"
+    long population;
+    boolean previousGenerationInNext;
+    // flat indexes (row * colCount + col) of the cells that flipped between the previous and the current generation
+    CellChangeList previousChangedCells;
+    // filled by the engine with the flat indexes of the cells that flip between "current" and "next", in ascending order
+    CellChangeList changedCells;
+
+    long getCellCount() {
+        return (long) rowCount * colCount;
+    }
+
+    /**
+     * Returns the given row of "next" for writing, first copying it if it is shared with a fork of the grid.
+     *  engines write "next" through this, but may read it directly. each row is only ever copied by the thread
+     *  stepping it
+     *
+     * @param row int
+     * @return CellStatus[] as the row, private to this grid
+     */
+    GameGrid.CellStatus[] writableNextRow(int row) {
+        if (!privateNextRows[row]) {
+            next[row] = next[row].clone();
+            privateNextRows[row] = true;
+        }
+        return next[row];
+    }
+}
@@ -0,0 +1,101 @@
+package com.brianscottrussell.gameoflife;
+
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+/**
+ * A rectangle of cells in a GameGrid, given by its top-left cell and its size
+ *
+ * @author brussell
+ */
+public class GridRegion {
+
+    private final int row;
+    private final int col;
+    private final int rowCount;
+    private final int colCount;
+
+    /**
+     * @param row int as the top row of the region
+     * @param col int as the left column of the region
+     * @param rowCount int as # of rows in the region
+     * @param colCount int as # of cols in the region
+     */
+    public GridRegion(int row, int col, int rowCount, int colCount) {
+        this.row = row;
+        this.col = col;
+        this.rowCount = rowCount > 0 ? rowCount : 0;
+        this.colCount = colCount > 0 ? colCount : 0;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getCol() {
+        return col;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColCount() {
+        return colCount;
+    }
+
+    /**
+     * @return boolean true if the region does not contain any cells
+     */
+    public boolean isEmpty() {
+        return rowCount == 0 || colCount == 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        GridRegion that = (GridRegion) o;
+        return row == that.row && col == that.col && rowCount == that.rowCount && colCount == that.colCount;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = row;
+        result = 31 * result + col;
+        result = 31 * result + rowCount;
+        result = 31 * result + colCount;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "GridRegion{" +
+                "row=" + row +
+                ", col=" + col +
+                ", rowCount=" + rowCount +
+                ", colCount=" + colCount +
+                '}';
+    }
+}
@@ -0,0 +1,231 @@
+package com.brianscottrussell.gameoflife;
+
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A read-only copy of one generation of a GameGrid.
+ *
+ * The cells are packed one bit per cell, in row-major order, so taking a snapshot costs a single pass over the grid and
+ *  an eighth of a byte per cell. Snapshots are filled by the GameGrid they are taken from, and the owner of a snapshot
+ *  may hand it back to be filled again with a later generation rather than allocating a new one.
+ *
+ * Snapshots returned by GameGrid.acquireSnapshot() are each reader's own handle on a snapshot shared between readers.
+ *  the handle must be closed when the reader is done with it, which allows the GameGrid to recycle the shared snapshot
+ *  once no reader holds it. closing a handle more than once has no further effect.
+ *
+ * @author brussell
+ */
+public class GridSnapshot implements AutoCloseable {
+
+    // readerCount is set to RECYCLING while the snapshot is being refilled, so no reader can acquire it
+    private static final int RECYCLING = -1;
+
+    private static final char DEAD_SYMBOL = '.';
+    private static final char ALIVE_SYMBOL = '*';
+
+    private int generation = 0;
+    private int rowCount = 0;
+    private int colCount = 0;
+    // bit (row * colCount + col) is set when that cell is Alive
+    private long[] aliveCells = new long[0];
+    // # of readers holding this snapshot through GameGrid.acquireSnapshot(), or RECYCLING
+    private final AtomicInteger readerCount = new AtomicInteger(0);
+    // which publish of its GameGrid this snapshot holds, or -1 if it is not a published snapshot. see GameGrid
+    private long publishIndex = -1;
+    // the shared snapshot this is a reader's handle on, or null if this snapshot is not a handle
+    private final GridSnapshot sharedSnapshot;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    GridSnapshot() {
+        this.sharedSnapshot = null;
+    }
+
+    /**
+     * Constructor for a reader's handle on the given snapshot, which reads the same cells
+     */
+    private GridSnapshot(GridSnapshot sharedSnapshot) {
+        this.sharedSnapshot = sharedSnapshot;
+        this.generation = sharedSnapshot.generation;
+        this.rowCount = sharedSnapshot.rowCount;
+        this.colCount = sharedSnapshot.colCount;
+        this.aliveCells = sharedSnapshot.aliveCells;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColCount() {
+        return colCount;
+    }
+
+    /**
+     * @param row int
+     * @param col int
+     * @return boolean true if the cell is in the grid and Alive
+     */
+    public boolean isCellAlive(int row, int col) {
+        if(row < 0 || col < 0 || row >= rowCount || col >= colCount) {
+            return false;
+        }
+        long cell = (long) row * colCount + col;
+        return (aliveCells[(int) (cell >> 6)] & (1L << cell)) != 0;
+    }
+
+    /**
+     * Builds a String representation of the snapshot, in the same format as GameGrid.asString()
+     */
+    public String asString() {
+        StringBuilder output = new StringBuilder(rowCount * (colCount + GameOfLife.LF.length()));
+        appendTo(output);
+        return output.toString();
+    }
+
+    /**
+     * Appends the same output as asString() to the given builder, so that callers rendering many snapshots can reuse it
+     *
+     * @param output StringBuilder
+     */
+    public void appendTo(StringBuilder output) {
+        long cell = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (row != 0) {
+                output.append(GameOfLife.LF);
+            }
+            for (int col = 0; col < colCount; col++, cell++) {
+                output.append((aliveCells[(int) (cell >> 6)] & (1L << cell)) != 0 ? ALIVE_SYMBOL : DEAD_SYMBOL);
+            }
+        }
+    }
+
+    /**
+     * Releases a snapshot returned by GameGrid.acquireSnapshot(), so that it can be recycled.
+     *  the snapshot must not be used after it has been closed. only the first close counts, and closing a snapshot
+     *  that was not returned by GameGrid.acquireSnapshot() does nothing
+     */
+    @Override
+    public void close() {
+        if(null != sharedSnapshot && closed.compareAndSet(false, true)) {
+            sharedSnapshot.readerCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Registers a reader of this snapshot, unless it is being recycled
+     *
+     * @return GridSnapshot as the reader's handle, to be closed when done with it, or null if being recycled
+     */
+    GridSnapshot tryAcquire() {
+        int count = readerCount.get();
+        while(count != RECYCLING) {
+            if(readerCount.compareAndSet(count, count + 1)) {
+                return new GridSnapshot(this);
+            }
+            count = readerCount.get();
+        }
+        return null;
+    }
+
+    /**
+     * Claims this snapshot to be refilled, which only succeeds when no reader holds it.
+     *  once claimed, no reader can acquire it until it is published again
+     *
+     * @return boolean true if the snapshot may be refilled
+     */
+    boolean tryRecycle() {
+        return readerCount.compareAndSet(0, RECYCLING);
+    }
+
+    /**
+     * Lets readers acquire this snapshot again, after it has been refilled.
+     *  this must happen before the snapshot is published, so its contents are visible to every reader that acquires it
+     */
+    void endRecycling() {
+        readerCount.set(0);
+    }
+
+    /**
+     * Prepares this snapshot to be filled with a generation of a grid of the given size, with all cells Dead.
+     *  the packed cells are only reallocated when they are too small for the new size
+     *
+     * @param generation int
+     * @param rowCount int
+     * @param colCount int
+     */
+    void reset(int generation, int rowCount, int colCount) {
+        this.generation = generation;
+        this.rowCount = rowCount;
+        this.colCount = colCount;
+        int wordCount = (int) (((long) rowCount * colCount + 63) >> 6);
+        if(aliveCells.length < wordCount) {
+            aliveCells = new long[wordCount];
+        }
+        else {
+            Arrays.fill(aliveCells, 0L);
+        }
+    }
+
+    /**
+     * @param cell long as the flat index (row * colCount + col) of the cell to make Alive
+     */
+    void setAlive(long cell) {
+        aliveCells[(int) (cell >> 6)] |= 1L << cell;
+    }
+
+    /**
+     * @param cell long as the flat index (row * colCount + col) of the cell to make Alive if Dead, and Dead if Alive
+     */
+    void flip(long cell) {
+        aliveCells[(int) (cell >> 6)] ^= 1L << cell;
+    }
+
+    void setGeneration(int generation) {
+        this.generation = generation;
+    }
+
+    long getPublishIndex() {
+        return publishIndex;
+    }
+
+    void setPublishIndex(long publishIndex) {
+        this.publishIndex = publishIndex;
+    }
+
+    @Override
+    public String toString() {
+        return "GridSnapshot{" +
+                "generation=" + generation +
+                ", rowCount=" + rowCount +
+                ", colCount=" + colCount +
+                '}';
+    }
+}
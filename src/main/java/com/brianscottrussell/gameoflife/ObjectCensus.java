@@ -0,0 +1,328 @@
+package com.brianscottrussell.gameoflife;
+
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Breaks a settled grid down into its separate objects and identifies each of them.
+ *
+ * Objects are the 8-connected groups of the cells that are Alive in any phase of the cycle, so that an oscillator whose
+ *  parts come apart in some phases (e.g. the beacon) is still one object. Each object is identified by a canonical key
+ *  that does not depend on where it is, how it is rotated or reflected, or which phase it is in:
+ *
+ *   - the object is copied onto a small grid of its own and run for the period the whole grid settled into
+ *   - each phase is written as rows of '*' & '.' joined by '/', in each of the 8 rotations/reflections
+ *   - the smallest of those Strings is the pattern, prefixed with xs[population] for still lifes or xp[period] for
+ *     oscillators e.g. the blinker is "xp2_***"
+ *   - an object that does not come back to its first phase on its own grid is only kept going by its neighbors, and
+ *     is keyed "unstable_" followed by the pattern of its first phase
+ *
+ * Objects that reach the edge of the grid in any phase are left out of the census and only counted, see
+ *  getEdgeObjectCount(). No life can exist off the edges, so such an object may be there only because the edge
+ *  stops it from growing, and would not be found on an open plane.
+ *
+ * Still lifes that sit close to each other but do not touch are counted separately, and keys found earlier are cached,
+ *  so a census costs one more cycle of the grid plus the objects not seen before.
+ *
+ * One ObjectCensus is used by one thread at a time.
+ *
+ * @author brussell
+ */
+class ObjectCensus {
+
+    // key prefix of the objects that do not repeat on their own
+    static final String UNSTABLE_PREFIX = "unstable_";
+    // empty cells around an object when it is run on its own, enough for oscillators that grow beyond their first phase
+    private static final int OBJECT_MARGIN = 3;
+
+    // names of the common objects, by key
+    private static final Map<String, String> OBJECT_NAMES = new HashMap<>();
+
+    static {
+        ObjectCensus census = new ObjectCensus();
+        census.name("block", "**", "**");
+        census.name("beehive", ".**.", "*..*", ".**.");
+        census.name("loaf", ".**.", "*..*", ".*.*", "..*.");
+        census.name("boat", "**.", "*.*", ".*.");
+        census.name("ship", "**.", "*.*", ".**");
+        census.name("tub", ".*.", "*.*", ".*.");
+        census.name("pond", ".**.", "*..*", "*..*", ".**.");
+        census.name("long boat", "**..", "*.*.", ".*.*", "..*.");
+        census.name("barge", ".*..", "*.*.", ".*.*", "..*.");
+        census.name("mango", ".**..", "*..*.", ".*..*", "..**.");
+        census.name("eater 1", "**..", "*.*.", "..*.", "..**");
+        census.name("blinker", "***");
+        census.name("toad", ".***", "***.");
+        census.name("beacon", "**..", "**..", "..**", "..**");
+    }
+
+    // per-phase keys of objects seen before, by their first phase pattern
+    private final Map<String, String> objectKeys = new HashMap<>();
+    private final GridSnapshot gridSnapshot = new GridSnapshot();
+    private final GridSnapshot objectSnapshot = new GridSnapshot();
+    private boolean[] occupied = new boolean[0];
+    private boolean[] visited = new boolean[0];
+    private int[] stack = new int[0];
+    private int edgeObjectCount = 0;
+
+    /**
+     * @param objectKey String
+     * @return String as the common name of the object, or null if it does not have one
+     */
+    static String getObjectName(String objectKey) {
+        return OBJECT_NAMES.get(objectKey);
+    }
+
+    /**
+     * Counts the objects in the grid. the grid is run through one whole cycle, so it ends up in the phase it started in
+     *
+     * @param gameGrid GameGrid that has settled into a cycle
+     * @param period int as the length of that cycle in generations
+     * @return Map of the number of each object found, by key, leaving out the objects that reach the edge of the grid
+     */
+    Map<String, Integer> takeCensus(GameGrid gameGrid, int period) {
+        int rowCount = gameGrid.getRowCount();
+        int colCount = gameGrid.getColCount();
+        int cellCount = rowCount * colCount;
+        if (this.visited.length < cellCount) {
+            this.occupied = new boolean[cellCount];
+            this.visited = new boolean[cellCount];
+            this.stack = new int[cellCount];
+        }
+        Arrays.fill(this.visited, 0, cellCount, false);
+
+        // the objects are counted in this phase
+        GridSnapshot snapshot = this.gridSnapshot;
+        gameGrid.copyInto(snapshot);
+        for (int cell = 0; cell < cellCount; cell++) {
+            this.occupied[cell] = snapshot.isCellAlive(cell / colCount, cell % colCount);
+        }
+        // but grouped by the cells they occupy in any phase. a cell that flips is Alive in one of the phases
+        for (int phase = 1; phase <= period; phase++) {
+            gameGrid.incrementGeneration();
+            CellChangeList changedCells = gameGrid.getChangedCells();
+            for (int i = 0; i < changedCells.size(); i++) {
+                this.occupied[(int) changedCells.get(i)] = true;
+            }
+        }
+
+        Map<String, Integer> objectCounts = new HashMap<>();
+        this.edgeObjectCount = 0;
+        List<int[]> objectCells = new ArrayList<>();
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (this.visited[cell] || !this.occupied[cell]) {
+                continue;
+            }
+            // flood fill the 8-connected group of occupied cells around this one
+            objectCells.clear();
+            boolean reachesEdge = false;
+            int stackSize = 0;
+            this.stack[stackSize++] = cell;
+            this.visited[cell] = true;
+            while (stackSize > 0) {
+                int objectCell = this.stack[--stackSize];
+                int row = objectCell / colCount;
+                int col = objectCell % colCount;
+                if (snapshot.isCellAlive(row, col)) {
+                    objectCells.add(new int[] {row, col});
+                }
+                reachesEdge |= row == 0 || col == 0 || row == rowCount - 1 || col == colCount - 1;
+                for (int neighborRow = Math.max(row - 1, 0); neighborRow <= Math.min(row + 1, rowCount - 1); neighborRow++) {
+                    for (int neighborCol = Math.max(col - 1, 0); neighborCol <= Math.min(col + 1, colCount - 1); neighborCol++) {
+                        int neighborCell = neighborRow * colCount + neighborCol;
+                        if (!this.visited[neighborCell] && this.occupied[neighborCell]) {
+                            this.visited[neighborCell] = true;
+                            this.stack[stackSize++] = neighborCell;
+                        }
+                    }
+                }
+            }
+            if (reachesEdge) {
+                this.edgeObjectCount++;
+            }
+            else {
+                objectCounts.merge(getObjectKey(objectCells, period), 1, Integer::sum);
+            }
+        }
+        return objectCounts;
+    }
+
+    /**
+     * @return int as # of objects the last census left out, because they reached the edge of the grid
+     */
+    int getEdgeObjectCount() {
+        return this.edgeObjectCount;
+    }
+
+    /**
+     * Identifies one object, from the cache when its first phase has been seen before
+     */
+    private String getObjectKey(List<int[]> objectCells, int period) {
+        String firstPhasePattern = canonicalPattern(objectCells);
+        String objectKey = this.objectKeys.get(firstPhasePattern + period);
+        if (null == objectKey) {
+            objectKey = computeObjectKey(objectCells, firstPhasePattern, period);
+            this.objectKeys.put(firstPhasePattern + period, objectKey);
+        }
+        return objectKey;
+    }
+
+    /**
+     * Runs the object on a grid of its own for the given period, to find its own period and its smallest phase pattern
+     */
+    private String computeObjectKey(List<int[]> objectCells, String firstPhasePattern, int period) {
+        int firstRow = Integer.MAX_VALUE;
+        int firstCol = Integer.MAX_VALUE;
+        int lastRow = Integer.MIN_VALUE;
+        int lastCol = Integer.MIN_VALUE;
+        for (int[] cell : objectCells) {
+            firstRow = Math.min(firstRow, cell[0]);
+            firstCol = Math.min(firstCol, cell[1]);
+            lastRow = Math.max(lastRow, cell[0]);
+            lastCol = Math.max(lastCol, cell[1]);
+        }
+        int objectColCount = lastCol - firstCol + 1 + 2 * OBJECT_MARGIN;
+        BitSet aliveCells = new BitSet();
+        for (int[] cell : objectCells) {
+            aliveCells.set((cell[0] - firstRow + OBJECT_MARGIN) * objectColCount + cell[1] - firstCol + OBJECT_MARGIN);
+        }
+        GameGrid objectGrid = new GameGrid(lastRow - firstRow + 1 + 2 * OBJECT_MARGIN, objectColCount);
+        objectGrid.setStepStrategy(StepStrategy.Sparse);
+        objectGrid.reset(aliveCells);
+
+        String smallestPattern = firstPhasePattern;
+        int objectPeriod = 0;
+        for (int phase = 1; phase <= period; phase++) {
+            objectGrid.incrementGeneration();
+            objectGrid.copyInto(this.objectSnapshot);
+            List<int[]> phaseCells = getAliveCells(this.objectSnapshot);
+            if (samePositions(phaseCells, aliveCells, objectColCount)) {
+                // back to the first phase, in the same place
+                objectPeriod = phase;
+                break;
+            }
+            String phasePattern = canonicalPattern(phaseCells);
+            if (phasePattern.compareTo(smallestPattern) < 0) {
+                smallestPattern = phasePattern;
+            }
+        }
+        if (objectPeriod == 0) {
+            // the whole grid repeats, but this object does not without the objects around it
+            return UNSTABLE_PREFIX + firstPhasePattern;
+        }
+        return (objectPeriod == 1 ? "xs" + objectCells.size() : "xp" + objectPeriod) + "_" + smallestPattern;
+    }
+
+    private static boolean samePositions(List<int[]> cells, BitSet aliveCells, int colCount) {
+        if (cells.size() != aliveCells.cardinality()) {
+            return false;
+        }
+        for (int[] cell : cells) {
+            if (!aliveCells.get(cell[0] * colCount + cell[1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<int[]> getAliveCells(GridSnapshot snapshot) {
+        List<int[]> cells = new ArrayList<>();
+        for (int row = 0; row < snapshot.getRowCount(); row++) {
+            for (int col = 0; col < snapshot.getColCount(); col++) {
+                if (snapshot.isCellAlive(row, col)) {
+                    cells.add(new int[] {row, col});
+                }
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Writes the cells as rows of '*' & '.' joined by '/', in each of the 8 rotations/reflections, and returns the
+     *  smallest of those Strings
+     *
+     * @param cells List of {row, col}
+     * @return String
+     */
+    static String canonicalPattern(List<int[]> cells) {
+        String smallestPattern = null;
+        for (int transform = 0; transform < 8; transform++) {
+            int[][] transformedCells = new int[cells.size()][];
+            int firstRow = Integer.MAX_VALUE;
+            int firstCol = Integer.MAX_VALUE;
+            int lastRow = Integer.MIN_VALUE;
+            int lastCol = Integer.MIN_VALUE;
+            for (int i = 0; i < cells.size(); i++) {
+                // bit 2 swaps row & col, bit 1 mirrors the rows, bit 0 mirrors the cols
+                int row = (transform & 4) == 0 ? cells.get(i)[0] : cells.get(i)[1];
+                int col = (transform & 4) == 0 ? cells.get(i)[1] : cells.get(i)[0];
+                row = (transform & 2) == 0 ? row : -row;
+                col = (transform & 1) == 0 ? col : -col;
+                transformedCells[i] = new int[] {row, col};
+                firstRow = Math.min(firstRow, row);
+                firstCol = Math.min(firstCol, col);
+                lastRow = Math.max(lastRow, row);
+                lastCol = Math.max(lastCol, col);
+            }
+
+            int colCount = lastCol - firstCol + 1;
+            char[] pattern = new char[(lastRow - firstRow + 1) * (colCount + 1) - 1];
+            Arrays.fill(pattern, '.');
+            for (int row = colCount; row < pattern.length; row += colCount + 1) {
+                pattern[row] = '/';
+            }
+            for (int[] cell : transformedCells) {
+                pattern[(cell[0] - firstRow) * (colCount + 1) + cell[1] - firstCol] = '*';
+            }
+
+            String transformedPattern = new String(pattern);
+            if (null == smallestPattern || transformedPattern.compareTo(smallestPattern) < 0) {
+                smallestPattern = transformedPattern;
+            }
+        }
+        return smallestPattern;
+    }
+
+    /**
+     * Adds the common name for the object drawn by the given rows, in any phase, rotation or reflection
+     */
+    private void name(String name, String... rows) {
+        List<int[]> cells = new ArrayList<>();
+        for (int row = 0; row < rows.length; row++) {
+            for (int col = 0; col < rows[row].length(); col++) {
+                if (rows[row].charAt(col) == '*') {
+                    cells.add(new int[] {row, col});
+                }
+            }
+        }
+        // run for long enough to find the period of any of the named objects
+        OBJECT_NAMES.put(getObjectKey(cells, 2), name);
+    }
+}
@@ -0,0 +1,90 @@
+package com.brianscottrussell.gameoflife;
+
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes the next generation by visiting every cell of the grid, splitting the rows into one band per thread.
+ *  each band records its changes in its own list, and the lists are joined in row order afterwards
+ *
+ * The bands run on the common ForkJoinPool, so the number of threads actually used is at most its parallelism.
+ *
+ * @author brussell
+ */
+class ParallelStepEngine extends StepEngine {
+
+    private final int threadCount;
+    private final List<CellChangeList> bandChangedCells = new ArrayList<>();
+
+    /**
+     * @param threadCount int as the number of bands to split the rows into
+     */
+    ParallelStepEngine(int threadCount) {
+        this.threadCount = Math.max(threadCount, 1);
+        for (int i = 0; i < this.threadCount; i++) {
+            this.bandChangedCells.add(new CellChangeList());
+        }
+    }
+
+    int getThreadCount() {
+        return threadCount;
+    }
+
+    @Override
+    void step(GenerationStep step) {
+        int bandCount = Math.min(this.threadCount, Math.max(step.rowCount, 1));
+        if (bandCount == 1) {
+            stepRows(step, 0, step.rowCount, step.changedCells);
+            return;
+        }
+
+        List<RecursiveAction> bands = new ArrayList<>(bandCount);
+        for (int band = 0; band < bandCount; band++) {
+            final int firstRow = step.rowCount * band / bandCount;
+            final int lastRow = step.rowCount * (band + 1) / bandCount;
+            final CellChangeList changedCells = this.bandChangedCells.get(band);
+            changedCells.clear();
+            bands.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    stepRows(step, firstRow, lastRow, changedCells);
+                }
+            });
+        }
+        ForkJoinTask.invokeAll(bands);
+
+        for (int band = 0; band < bandCount; band++) {
+            step.changedCells.addAll(this.bandChangedCells.get(band));
+        }
+    }
+
+    @Override
+    StepStrategy getStrategy() {
+        return StepStrategy.Parallel;
+    }
+}
@@ -0,0 +1,152 @@
+package com.brianscottrussell.gameoflife;
+
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prints generations on a separate thread, so the next generation can be computed while the previous one is being
+ *  rendered and written.
+ *
+ * A fixed number of GridSnapshot buffers go round between the two threads: the computing thread fills a free buffer
+ *  with the current generation and queues it, the printing thread renders it, writes it and hands the buffer back.
+ *  When every buffer is waiting to be printed the computing thread waits, so memory stays bounded no matter how far
+ *  the computation gets ahead of the output.
+ *
+ * @author brussell
+ */
+class PipelinedGenerationPrinter implements AutoCloseable {
+
+    // queued after the last generation to stop the printing thread
+    private static final GridSnapshot END_OF_GENERATIONS = new GridSnapshot();
+    private static final long POLL_MILLIS = 100;
+
+    private final PrintStream out;
+    private final BlockingQueue<GridSnapshot> freeSnapshots;
+    private final BlockingQueue<GridSnapshot> queuedSnapshots;
+    private final Thread printingThread;
+    private volatile Throwable printingFailure = null;
+
+    /**
+     * Starts the printing thread
+     *
+     * @param out PrintStream to write the generations to
+     * @param bufferCount int as the number of generations that can be in flight between the two threads
+     */
+    PipelinedGenerationPrinter(PrintStream out, int bufferCount) {
+        if(bufferCount < 1) {
+            throw new IllegalArgumentException("bufferCount must be at least 1: " + bufferCount);
+        }
+        this.out = out;
+        this.freeSnapshots = new ArrayBlockingQueue<>(bufferCount);
+        // one extra slot so the end marker never has to wait for a free buffer
+        this.queuedSnapshots = new ArrayBlockingQueue<>(bufferCount + 1);
+        for(int i = 0; i < bufferCount; i++) {
+            this.freeSnapshots.add(new GridSnapshot());
+        }
+        this.printingThread = new Thread(this::printQueuedSnapshots, "generation-printer");
+        this.printingThread.setDaemon(true);
+        this.printingThread.start();
+    }
+
+    /**
+     * Queues the current generation of the grid to be printed, waiting for a free buffer if the printing thread is
+     *  behind
+     *
+     * @param gameGrid GameGrid
+     * @throws InterruptedException if interrupted while waiting for a free buffer
+     * @throws GenerationPrintingException if writing an earlier generation failed
+     */
+    void print(GameGrid gameGrid) throws InterruptedException {
+        GridSnapshot snapshot = null;
+        while(null == snapshot) {
+            checkPrintingThread();
+            snapshot = this.freeSnapshots.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        gameGrid.copyInto(snapshot);
+        this.queuedSnapshots.put(snapshot);
+    }
+
+    /**
+     * Waits for every queued generation to be printed, then stops the printing thread.
+     *  if interrupted while waiting, the interrupt flag is set again and the remaining generations are not waited for
+     *
+     * @throws GenerationPrintingException if writing the generations failed
+     * @throws IllegalStateException if interrupted while waiting
+     */
+    @Override
+    public void close() {
+        try {
+            this.queuedSnapshots.put(END_OF_GENERATIONS);
+            this.printingThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the generations to be printed", e);
+        }
+        checkPrintingThread();
+        // PrintStream does not throw, so the final flush is checked the same way as every write
+        if(this.out.checkError()) {
+            throw new GenerationPrintingException("Printing the generations failed", new IOException("Error writing to the output stream"));
+        }
+    }
+
+    private void checkPrintingThread() {
+        if(null != this.printingFailure) {
+            throw new GenerationPrintingException("Printing the generations failed", this.printingFailure);
+        }
+    }
+
+    /**
+     * The printing thread: renders each queued snapshot in the same format as GameOfLife and frees its buffer
+     */
+    private void printQueuedSnapshots() {
+        StringBuilder output = new StringBuilder();
+        try {
+            GridSnapshot snapshot = this.queuedSnapshots.take();
+            while(snapshot != END_OF_GENERATIONS) {
+                output.setLength(0);
+                // adding a line for easier readability
+                output.append(GameOfLife.LF);
+                // grid header
+                output.append("Generation ").append(snapshot.getGeneration()).append(GameOfLife.LF);
+                // grid
+                snapshot.appendTo(output);
+                this.out.println(output);
+                // PrintStream swallows IOExceptions, e.g. from a closed pipe or a full disk, and only sets a flag
+                if(this.out.checkError()) {
+                    throw new IOException("Error writing to the output stream");
+                }
+
+                this.freeSnapshots.put(snapshot);
+                snapshot = this.queuedSnapshots.take();
+            }
+        } catch (Throwable t) {
+            this.printingFailure = t;
+        }
+    }
+}
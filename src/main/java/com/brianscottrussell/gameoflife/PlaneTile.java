@@ -0,0 +1,215 @@
+package com.brianscottrussell.gameoflife;
+
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+import java.util.Arrays;
+
+/**
+ * One TILE_SIZE x TILE_SIZE square of an UnboundedGameGrid.
+ *
+ * Each row of the tile is packed into one long, bit col set when that cell is Alive, so a whole row of the next
+ *  generation is computed with a handful of bitwise operations. See UnboundedGameGrid for how tiles come and go.
+ *
+ * @author brussell
+ */
+class PlaneTile {
+
+    static final int TILE_SHIFT = 6;
+    static final int TILE_SIZE = 1 << TILE_SHIFT;
+
+    final int tileRow;
+    final int tileCol;
+    // row r of the tile, bit c set when the cell at col c is Alive
+    long[] rows = new long[TILE_SIZE];
+    // overwritten with the next generation, then swapped with rows
+    long[] nextRows = new long[TILE_SIZE];
+    // # of Alive cells in the tile
+    int population = 0;
+    // true when the tile changed in the last generation, so it and its neighbors have to be stepped again
+    boolean changed = true;
+    // the last generation this tile was picked to be stepped in, so it is picked only once
+    int steppedGeneration = 0;
+    // bit n set when the edge (or corner) towards neighbor n, in the order NW, N, NE, W, E, SW, S, SE, has Alive cells
+    //   now or had them before the last change, so the neighbor beyond it may change in the next generation
+    int activeEdges = 0;
+
+    PlaneTile(int tileRow, int tileCol) {
+        this.tileRow = tileRow;
+        this.tileCol = tileCol;
+    }
+
+    boolean isCellAlive(int row, int col) {
+        return (this.rows[row] & (1L << col)) != 0;
+    }
+
+    /**
+     * @param row int within the tile
+     * @param col int within the tile
+     * @param alive boolean
+     */
+    void setCell(int row, int col, boolean alive) {
+        if (isCellAlive(row, col) == alive) {
+            return;
+        }
+        // a cell set more than once between generations still leaves every edge it was on active
+        this.activeEdges |= aliveEdges(this.rows);
+        this.rows[row] ^= 1L << col;
+        this.activeEdges |= aliveEdges(this.rows);
+        this.population += alive ? 1 : -1;
+        this.changed = true;
+    }
+
+    /**
+     * @param rows long[] as the rows of a tile
+     * @return int with bit n set when the edge towards neighbor n has Alive cells. see activeEdges
+     */
+    private static int aliveEdges(long[] rows) {
+        long cols = 0;
+        for (long row : rows) {
+            cols |= row;
+        }
+        long northRow = rows[0];
+        long southRow = rows[TILE_SIZE - 1];
+        int edges = 0;
+        edges |= (northRow & 1L) != 0 ? 1 : 0;
+        edges |= northRow != 0 ? 1 << 1 : 0;
+        edges |= northRow < 0 ? 1 << 2 : 0;
+        edges |= (cols & 1L) != 0 ? 1 << 3 : 0;
+        edges |= cols < 0 ? 1 << 4 : 0;
+        edges |= (southRow & 1L) != 0 ? 1 << 5 : 0;
+        edges |= southRow != 0 ? 1 << 6 : 0;
+        edges |= southRow < 0 ? 1 << 7 : 0;
+        return edges;
+    }
+
+    /**
+     * @return long with bit c set when any cell of col c is Alive
+     */
+    long orRows() {
+        long cols = 0;
+        for (long row : this.rows) {
+            cols |= row;
+        }
+        return cols;
+    }
+
+    /**
+     * Computes the next generation of this tile into nextRows, from the current rows of this tile and its 8 neighbors.
+     *  a missing neighbor (null) has no Alive cells. the rules of the game are applied to 64 cells at a time:
+     *
+     *   1. Any live cell with fewer than two live neighbours dies, as if caused by underpopulation.
+     *   2. Any live cell with more than three live neighbours dies, as if by overcrowding.
+     *   3. Any live cell with two or three live neighbours lives on to the next generation.
+     *   4. Any dead cell with exactly three live neighbours becomes a live cell.
+     *
+     * @param neighbors PlaneTile[] as the tiles around this one, in the order NW, N, NE, W, E, SW, S, SE
+     */
+    void step(PlaneTile[] neighbors) {
+        PlaneTile northWest = neighbors[0];
+        PlaneTile north = neighbors[1];
+        PlaneTile northEast = neighbors[2];
+        PlaneTile west = neighbors[3];
+        PlaneTile east = neighbors[4];
+        PlaneTile southWest = neighbors[5];
+        PlaneTile south = neighbors[6];
+        PlaneTile southEast = neighbors[7];
+
+        for (int row = 0; row < TILE_SIZE; row++) {
+            long above;
+            long aboveWest;
+            long aboveEast;
+            if (row == 0) {
+                above = rowOf(north, TILE_SIZE - 1);
+                aboveWest = rowOf(northWest, TILE_SIZE - 1);
+                aboveEast = rowOf(northEast, TILE_SIZE - 1);
+            }
+            else {
+                above = this.rows[row - 1];
+                aboveWest = rowOf(west, row - 1);
+                aboveEast = rowOf(east, row - 1);
+            }
+            long below;
+            long belowWest;
+            long belowEast;
+            if (row == TILE_SIZE - 1) {
+                below = rowOf(south, 0);
+                belowWest = rowOf(southWest, 0);
+                belowEast = rowOf(southEast, 0);
+            }
+            else {
+                below = this.rows[row + 1];
+                belowWest = rowOf(west, row + 1);
+                belowEast = rowOf(east, row + 1);
+            }
+            long current = this.rows[row];
+            long currentWest = rowOf(west, row);
+            long currentEast = rowOf(east, row);
+
+            // each bit of the neighbor count, counted across the 64 cells of the row at once.
+            //   count2 only records that 4 or more neighbors were seen, which is all the rules need to know
+            long count0 = 0;
+            long count1 = 0;
+            long count2 = 0;
+            long[] neighborRows = {
+                    (above << 1) | (aboveWest >>> (TILE_SIZE - 1)), above, (above >>> 1) | (aboveEast << (TILE_SIZE - 1)),
+                    (current << 1) | (currentWest >>> (TILE_SIZE - 1)), (current >>> 1) | (currentEast << (TILE_SIZE - 1)),
+                    (below << 1) | (belowWest >>> (TILE_SIZE - 1)), below, (below >>> 1) | (belowEast << (TILE_SIZE - 1))
+            };
+            for (long neighborRow : neighborRows) {
+                long carry0 = count0 & neighborRow;
+                count0 ^= neighborRow;
+                long carry1 = count1 & carry0;
+                count1 ^= carry0;
+                count2 |= carry1;
+            }
+            // 3 neighbors: Alive either way. 2 neighbors: Alive only if it already is. otherwise Dead
+            this.nextRows[row] = ~count2 & count1 & (count0 | current);
+        }
+    }
+
+    /**
+     * Swaps in the generation computed by step()
+     *
+     * @return boolean true if any cell of the tile flipped
+     */
+    boolean swapRows() {
+        this.changed = !Arrays.equals(this.rows, this.nextRows);
+        // a cell that just died on an edge can still bring a birth across it, so the previous edges count as well
+        this.activeEdges = this.changed ? aliveEdges(this.rows) | aliveEdges(this.nextRows) : aliveEdges(this.rows);
+        long[] previousRows = this.rows;
+        this.rows = this.nextRows;
+        this.nextRows = previousRows;
+        if (this.changed) {
+            this.population = 0;
+            for (long row : this.rows) {
+                this.population += Long.bitCount(row);
+            }
+        }
+        return this.changed;
+    }
+
+    private static long rowOf(PlaneTile tile, int row) {
+        return null == tile ? 0 : tile.rows[row];
+    }
+}
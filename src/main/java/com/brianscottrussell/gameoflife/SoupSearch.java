@@ -0,0 +1,339 @@
+package com.brianscottrussell.gameoflife;
+
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Searches random starting positions ("soups") for interesting results.
+ *
+ * Each soup is a SOUP_SIZE x SOUP_SIZE square of random cells, seeded by its number, in the middle of an otherwise Dead
+ *  BOARD_SIZE x BOARD_SIZE grid. The grid is run until it settles into a cycle of at most MAX_PERIOD generations, and
+ *  then an ObjectCensus counts the objects left over. Anything reaching the edge of the board dies, so gliders end up
+ *  as debris rather than escaping. That debris can be held in shape by the edge, so the census leaves out the objects
+ *  touching the edge, and the soups that left any are reported apart from the objects found.
+ *
+ * The soups are shared out between one worker per thread. Each worker reuses the same grid for all of its soups and
+ *  keeps its own tallies, which are only merged at the end. Whether a grid has settled is checked every generation by
+ *  comparing a hash of its Alive cells with the hashes of the last MAX_PERIOD generations; the hash is updated from
+ *  the cells that flipped, so checking costs nothing like a pass over the grid.
+ *
+ * @author brussell
+ */
+public class SoupSearch {
+
+    public static final int SOUP_SIZE = 16;
+    static final int BOARD_SIZE = 96;
+    // longest cycle recognised as settled
+    static final int MAX_PERIOD = 30;
+    // soups still running after this many generations are reported as unsettled
+    static final int MAX_GENERATIONS = 10000;
+    // seeds kept for each object, as examples
+    private static final int SEEDS_PER_OBJECT = 3;
+
+    // a random value for each cell, the hash of a grid being those of its Alive cells XORed together
+    private static final long[] CELL_HASHES = new long[BOARD_SIZE * BOARD_SIZE];
+
+    static {
+        Random random = new Random(BOARD_SIZE);
+        for (int cell = 0; cell < CELL_HASHES.length; cell++) {
+            CELL_HASHES[cell] = random.nextLong();
+        }
+    }
+
+    private final long firstSeed;
+    private final long soupCount;
+    private final int threadCount;
+
+    /**
+     * @param firstSeed long as the seed of the first soup, the others following on from it
+     * @param soupCount long as the number of soups to run
+     * @param threadCount int as the number of soups run at the same time
+     */
+    public SoupSearch(long firstSeed, long soupCount, int threadCount) {
+        this.firstSeed = firstSeed;
+        this.soupCount = Math.max(soupCount, 0);
+        this.threadCount = Math.max(threadCount, 1);
+    }
+
+    /**
+     * Runs every soup and tallies the objects they settle into
+     *
+     * @return Result
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public Result run() throws InterruptedException {
+        AtomicLong nextSoup = new AtomicLong(0);
+        ExecutorService executorService = Executors.newFixedThreadPool(this.threadCount);
+        long start = System.nanoTime();
+        Result result = new Result(this.soupCount);
+        try {
+            List<Future<Result>> workers = new ArrayList<>();
+            for (int i = 0; i < this.threadCount; i++) {
+                workers.add(executorService.submit(() -> runWorker(nextSoup)));
+            }
+            for (Future<Result> worker : workers) {
+                result.merge(worker.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A soup search worker failed", e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    /**
+     * Takes soups until there are none left, all on the same grid
+     */
+    private Result runWorker(AtomicLong nextSoup) {
+        GameGrid gameGrid = new GameGrid(BOARD_SIZE, BOARD_SIZE);
+        // the activity of a soup is confined to a small part of the board
+        gameGrid.setStepStrategy(StepStrategy.Sparse);
+        ObjectCensus census = new ObjectCensus();
+        long[] recentHashes = new long[MAX_PERIOD];
+        BitSet soup = new BitSet(BOARD_SIZE * BOARD_SIZE);
+        Result result = new Result(0);
+
+        for (long soupIndex = nextSoup.getAndIncrement(); soupIndex < this.soupCount; soupIndex = nextSoup.getAndIncrement()) {
+            long seed = this.firstSeed + soupIndex;
+            long hash = fillSoup(soup, seed);
+            gameGrid.reset(soup);
+
+            int period = 0;
+            while (period == 0 && gameGrid.getGeneration() < MAX_GENERATIONS) {
+                recentHashes[gameGrid.getGeneration() % MAX_PERIOD] = hash;
+                gameGrid.incrementGeneration();
+                CellChangeList changedCells = gameGrid.getChangedCells();
+                for (int i = 0; i < changedCells.size(); i++) {
+                    hash ^= CELL_HASHES[(int) changedCells.get(i)];
+                }
+                // settled once this generation matches one of the last MAX_PERIOD
+                int generation = gameGrid.getGeneration();
+                for (int p = 1; p <= Math.min(MAX_PERIOD, generation - 1) && period == 0; p++) {
+                    if (recentHashes[(generation - p) % MAX_PERIOD] == hash) {
+                        period = p;
+                    }
+                }
+            }
+
+            if (period == 0) {
+                result.unsettledSeeds.add(seed);
+                continue;
+            }
+            for (Map.Entry<String, Integer> objectCount : census.takeCensus(gameGrid, period).entrySet()) {
+                result.tally(objectCount.getKey(), objectCount.getValue(), seed);
+            }
+            if (census.getEdgeObjectCount() > 0) {
+                result.edgeSoupCount++;
+                if (result.edgeSeeds.size() < SEEDS_PER_OBJECT) {
+                    result.edgeSeeds.add(seed);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Fills the soup square in the middle of the board with random cells
+     *
+     * @param soup BitSet to overwrite, by flat index (row * BOARD_SIZE + col)
+     * @param seed long
+     * @return long as the hash of the soup
+     */
+    static long fillSoup(BitSet soup, long seed) {
+        soup.clear();
+        Random random = new Random(seed);
+        int offset = (BOARD_SIZE - SOUP_SIZE) / 2;
+        long hash = 0;
+        for (int row = offset; row < offset + SOUP_SIZE; row++) {
+            for (int col = offset; col < offset + SOUP_SIZE; col++) {
+                if (random.nextBoolean()) {
+                    soup.set(row * BOARD_SIZE + col);
+                    hash ^= CELL_HASHES[row * BOARD_SIZE + col];
+                }
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * The objects found by a search, how often, and in which soups
+     */
+    public static class Result {
+
+        private final long soupCount;
+        private long elapsedNanos = 0;
+        private final Map<String, Long> objectCounts = new HashMap<>();
+        private final Map<String, List<Long>> objectSeeds = new HashMap<>();
+        private final List<Long> unsettledSeeds = new ArrayList<>();
+        private long edgeSoupCount = 0;
+        private final List<Long> edgeSeeds = new ArrayList<>();
+
+        private Result(long soupCount) {
+            this.soupCount = soupCount;
+        }
+
+        public long getSoupCount() {
+            return soupCount;
+        }
+
+        public double getSoupsPerSecond() {
+            return elapsedNanos == 0 ? 0 : soupCount * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * @return Map of the number of each object found, by key. see ObjectCensus for the format of the keys
+         */
+        public Map<String, Long> getObjectCounts() {
+            return Collections.unmodifiableMap(objectCounts);
+        }
+
+        /**
+         * @param objectKey String
+         * @return List of the seeds of the first few soups the object was found in
+         */
+        public List<Long> getSeeds(String objectKey) {
+            return objectSeeds.getOrDefault(objectKey, Collections.<Long>emptyList());
+        }
+
+        /**
+         * @return List of the seeds of the soups that had not settled after MAX_GENERATIONS
+         */
+        public List<Long> getUnsettledSeeds() {
+            return Collections.unmodifiableList(unsettledSeeds);
+        }
+
+        /**
+         * @return long as # of soups that left objects touching the edge of the board, which were not counted
+         */
+        public long getEdgeSoupCount() {
+            return edgeSoupCount;
+        }
+
+        /**
+         * @return List of the seeds of the first few soups that left objects touching the edge of the board
+         */
+        public List<Long> getEdgeSeeds() {
+            return Collections.unmodifiableList(edgeSeeds);
+        }
+
+        private void tally(String objectKey, long count, long seed) {
+            objectCounts.merge(objectKey, count, Long::sum);
+            List<Long> seeds = objectSeeds.computeIfAbsent(objectKey, key -> new ArrayList<>());
+            if (seeds.size() < SEEDS_PER_OBJECT) {
+                seeds.add(seed);
+            }
+        }
+
+        private void merge(Result result) {
+            for (Map.Entry<String, Long> objectCount : result.objectCounts.entrySet()) {
+                objectCounts.merge(objectCount.getKey(), objectCount.getValue(), Long::sum);
+            }
+            for (Map.Entry<String, List<Long>> seeds : result.objectSeeds.entrySet()) {
+                List<Long> mergedSeeds = objectSeeds.computeIfAbsent(seeds.getKey(), key -> new ArrayList<>());
+                mergedSeeds.addAll(seeds.getValue());
+                Collections.sort(mergedSeeds);
+                mergedSeeds.subList(Math.min(mergedSeeds.size(), SEEDS_PER_OBJECT), mergedSeeds.size()).clear();
+            }
+            unsettledSeeds.addAll(result.unsettledSeeds);
+            Collections.sort(unsettledSeeds);
+            edgeSoupCount += result.edgeSoupCount;
+            edgeSeeds.addAll(result.edgeSeeds);
+            Collections.sort(edgeSeeds);
+            edgeSeeds.subList(Math.min(edgeSeeds.size(), SEEDS_PER_OBJECT), edgeSeeds.size()).clear();
+        }
+
+        /**
+         * Builds the search report: the soups per second, the count of every object from most to least common, then
+         *  the seeds of the rare finds, being the objects without a common name and the soups that never settled, then
+         *  the soups whose objects touching the edge were left out
+         *  e.g.
+            10000 soups in 2.105 s: 4750.6 soups/second
+            Objects:
+              ...
+                 4127  blinker    xp2_***
+              ...
+            Rare finds:
+              xp3_...  seeds 1234, 5678
+            Objects touching the edge left out of 612 soups  seeds 3, 17, 25
+         */
+        public String asString() {
+            StringBuilder output = new StringBuilder();
+            output.append(String.format("%d soups in %.3f s: %.1f soups/second", soupCount, elapsedNanos / 1e9, getSoupsPerSecond()));
+
+            // most common first, then by key
+            Map<Long, List<String>> objectKeysByCount = new TreeMap<>(Collections.reverseOrder());
+            for (Map.Entry<String, Long> objectCount : objectCounts.entrySet()) {
+                objectKeysByCount.computeIfAbsent(objectCount.getValue(), count -> new ArrayList<>()).add(objectCount.getKey());
+            }
+            output.append(GameOfLife.LF).append("Objects:");
+            List<String> rareObjectKeys = new ArrayList<>();
+            for (Map.Entry<Long, List<String>> objectKeys : objectKeysByCount.entrySet()) {
+                Collections.sort(objectKeys.getValue());
+                for (String objectKey : objectKeys.getValue()) {
+                    String objectName = ObjectCensus.getObjectName(objectKey);
+                    output.append(GameOfLife.LF).append(String.format("  %8d  %-10s %s", objectKeys.getKey(), null == objectName ? "" : objectName, objectKey));
+                    if (null == objectName) {
+                        rareObjectKeys.add(objectKey);
+                    }
+                }
+            }
+
+            output.append(GameOfLife.LF).append("Rare finds:");
+            Collections.reverse(rareObjectKeys);
+            for (String objectKey : rareObjectKeys) {
+                output.append(GameOfLife.LF).append("  ").append(objectKey).append("  seeds ").append(joinSeeds(getSeeds(objectKey)));
+            }
+            if (!unsettledSeeds.isEmpty()) {
+                output.append(GameOfLife.LF).append("  unsettled after ").append(MAX_GENERATIONS).append(" generations  seeds ").append(joinSeeds(unsettledSeeds));
+            }
+            if (edgeSoupCount > 0) {
+                output.append(GameOfLife.LF).append("Objects touching the edge left out of ").append(edgeSoupCount).append(" soups  seeds ").append(joinSeeds(edgeSeeds));
+            }
+            return output.toString();
+        }
+
+        private static String joinSeeds(List<Long> seeds) {
+            StringBuilder output = new StringBuilder();
+            for (Long seed : seeds) {
+                output.append(output.length() > 0 ? ", " : "").append(seed);
+            }
+            return output.toString();
+        }
+    }
+}
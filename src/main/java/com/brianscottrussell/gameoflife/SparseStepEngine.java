@@ -0,0 +1,82 @@
+package com.brianscottrussell.gameoflife;
+
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+import com.brianscottrussell.gameoflife.GameGrid.CellStatus;
+
+/**
+ * Computes the next generation by visiting only the cells that changed in the last generation and their neighbors.
+ *  no other cell can change, since none of its neighbors did, so the cost is in proportion to the changes rather than
+ *  to the size of the grid
+ *
+ * @author brussell
+ */
+class SparseStepEngine extends StepEngine {
+
+    @Override
+    void step(GenerationStep step) {
+        if (!step.previousGenerationInNext) {
+            // without the previous changes there is nothing to narrow the search down with
+            stepRows(step, 0, step.rowCount, step.changedCells);
+            return;
+        }
+        catchUpNext(step);
+
+        CellChangeList previousChangedCells = step.previousChangedCells;
+        for (int i = 0; i < previousChangedCells.size(); i++) {
+            long cell = previousChangedCells.get(i);
+            int row = (int) (cell / step.colCount);
+            int col = (int) (cell % step.colCount);
+            for (int neighborRow = Math.max(row - 1, 0); neighborRow <= Math.min(row + 1, step.rowCount - 1); neighborRow++) {
+                for (int neighborCol = Math.max(col - 1, 0); neighborCol <= Math.min(col + 1, step.colCount - 1); neighborCol++) {
+                    stepCell(step, neighborRow, neighborCol);
+                }
+            }
+        }
+        // neighboring changes visit the same cells in no particular order
+        step.changedCells.sort();
+    }
+
+    /**
+     * Computes the next generation of one cell. a cell can be visited more than once, but only the first visit
+     *  that flips it writes it, since "next" then no longer matches "current"
+     */
+    private void stepCell(GenerationStep step, int row, int col) {
+        CellStatus currentCellStatus = step.current[row][col];
+        if (step.next[row][col] != currentCellStatus) {
+            // already flipped by an earlier visit
+            return;
+        }
+        CellStatus nextCellStatus = nextCellStatus(step.current, step.rowCount, step.colCount, row, col);
+        if (nextCellStatus != currentCellStatus) {
+            step.writableNextRow(row)[col] = nextCellStatus;
+            step.changedCells.add((long) row * step.colCount + col);
+        }
+    }
+
+    @Override
+    StepStrategy getStrategy() {
+        return StepStrategy.Sparse;
+    }
+}
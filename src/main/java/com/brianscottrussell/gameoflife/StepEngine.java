@@ -0,0 +1,160 @@
+package com.brianscottrussell.gameoflife;
+
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+import com.brianscottrussell.gameoflife.GameGrid.CellStatus;
+
+/**
+ * A strategy for computing the next generation of a GameGrid. See StepStrategy for the engines available.
+ *
+ * @author brussell
+ */
+abstract class StepEngine {
+
+    /**
+     * Computes the next generation of step.current into step.next and records every cell that flips in
+     *  step.changedCells, in ascending order
+     *
+     * @param step GenerationStep
+     */
+    abstract void step(GenerationStep step);
+
+    /**
+     * @return StepStrategy as the strategy this engine implements
+     */
+    abstract StepStrategy getStrategy();
+
+    /**
+     * Computes the next generation of the rows [firstRow, lastRow) into step.next, visiting every cell
+     *
+     * @param step GenerationStep
+     * @param firstRow int
+     * @param lastRow int
+     * @param changedCells CellChangeList to record the cells that flip in, in ascending order
+     */
+    static void stepRows(GenerationStep step, int firstRow, int lastRow, CellChangeList changedCells) {
+        for (int row = firstRow; row < lastRow; row++) {
+            CellStatus[] currentRow = step.current[row];
+            CellStatus[] nextRow = step.next[row];
+            for (int col = 0; col < step.colCount; col++) {
+                CellStatus nextCellStatus = nextCellStatus(step.current, step.rowCount, step.colCount, row, col);
+                // only write the cells that differ, so a row shared with a fork is copied only if it has to change
+                if (nextRow[col] != nextCellStatus) {
+                    nextRow = step.writableNextRow(row);
+                    nextRow[col] = nextCellStatus;
+                }
+                if (nextCellStatus != currentRow[col]) {
+                    changedCells.add((long) row * step.colCount + col);
+                }
+            }
+        }
+    }
+
+    /**
+     * Brings step.next from the previous generation up to the current one, by flipping back the cells that changed.
+     *  afterwards an engine only has to write the cells that flip in the next generation
+     *
+     * @param step GenerationStep where previousGenerationInNext is true
+     */
+    static void catchUpNext(GenerationStep step) {
+        CellChangeList previousChangedCells = step.previousChangedCells;
+        for (int i = 0; i < previousChangedCells.size(); i++) {
+            long cell = previousChangedCells.get(i);
+            int row = (int) (cell / step.colCount);
+            int col = (int) (cell % step.colCount);
+            step.writableNextRow(row)[col] = step.current[row][col];
+        }
+    }
+
+    /**
+     * Given the grid coordinates indicated by row & col, runs the rules of the game on the cell:
+     *
+     *   1. Any live cell with fewer than two live neighbours dies, as if caused by underpopulation.
+     *   2. Any live cell with more than three live neighbours dies, as if by overcrowding.
+     *   3. Any live cell with two or three live neighbours lives on to the next generation.
+     *   4. Any dead cell with exactly three live neighbours becomes a live cell.
+     *
+     * @param grid CellStatus[][]
+     * @param rowCount int
+     * @param colCount int
+     * @param row int
+     * @param col int
+     * @return CellStatus of the cell in the next generation
+     */
+    static CellStatus nextCellStatus(CellStatus[][] grid, int rowCount, int colCount, int row, int col) {
+        int livingNeighbors = countLivingNeighbors(grid, rowCount, colCount, row, col);
+        CellStatus cellStatus = grid[row][col];
+
+        //   1. Any live cell with fewer than two live neighbours dies, as if caused by underpopulation.
+        if (cellStatus == CellStatus.Alive && livingNeighbors < 2) {
+            return CellStatus.Dead;
+        }
+        //   2. Any live cell with more than three live neighbours dies, as if by overcrowding.
+        else if (cellStatus == CellStatus.Alive && livingNeighbors > 3) {
+            return CellStatus.Dead;
+        }
+        //   3. Any live cell with two or three live neighbours lives on to the next generation.
+        else if (cellStatus == CellStatus.Alive) {
+            return CellStatus.Alive;
+        }
+        //   4. Any dead cell with exactly three live neighbours becomes a live cell.
+        else if (livingNeighbors == 3) {
+            return CellStatus.Alive;
+        }
+        return cellStatus;
+    }
+
+    /**
+     * Given the grid coordinates indicated by row & col:
+     *  counts how many of the 8 adjacent cells are alive (O = current cell, # = cells to check)
+         ###
+         #O#
+         ###
+     *  this takes into account that the given coordinate might be at the edge of the grid, where there is no life
+     *
+     * @param grid CellStatus[][]
+     * @param rowCount int
+     * @param colCount int
+     * @param row int
+     * @param col int
+     * @return int as count of living neighbors
+     */
+    static int countLivingNeighbors(CellStatus[][] grid, int rowCount, int colCount, int row, int col) {
+        int firstRow = row > 0 ? row - 1 : row;
+        int lastRow = row < rowCount - 1 ? row + 1 : row;
+        int firstCol = col > 0 ? col - 1 : col;
+        int lastCol = col < colCount - 1 ? col + 1 : col;
+
+        int livingNeighborCount = grid[row][col] == CellStatus.Alive ? -1 : 0;
+        for (int neighborRow = firstRow; neighborRow <= lastRow; neighborRow++) {
+            CellStatus[] cells = grid[neighborRow];
+            for (int neighborCol = firstCol; neighborCol <= lastCol; neighborCol++) {
+                if (cells[neighborCol] == CellStatus.Alive) {
+                    livingNeighborCount++;
+                }
+            }
+        }
+        return livingNeighborCount;
+    }
+}
@@ -0,0 +1,77 @@
+package com.brianscottrussell.gameoflife;
+
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+/**
+ * The ways a GameGrid can compute its next generation. Every strategy gives the same result, they differ only in
+ *  which cells they visit and how many threads they use.
+ *
+ * @author brussell
+ */
+public enum StepStrategy {
+    // visits every cell, on the calling thread. best for small grids or when most of the grid is changing
+    Dense,
+    // visits only the cells next to a cell that changed in the last generation. best when very little is changing
+    Sparse,
+    // visits every cell of the tiles next to a change in the last generation. best when the changes are clustered
+    Tiled,
+    // visits every cell, splitting the rows between threads. best for large grids where most of the grid is changing
+    Parallel,
+    // samples the grid every few generations and switches between the other strategies
+    Adaptive
+    ;
+
+    /**
+     * @return StepEngine implementing this strategy
+     */
+    StepEngine newEngine() {
+        switch (this) {
+            case Sparse:
+                return new SparseStepEngine();
+            case Tiled:
+                return new TiledStepEngine();
+            case Parallel:
+                return new ParallelStepEngine(Runtime.getRuntime().availableProcessors());
+            case Adaptive:
+                return new AdaptiveStepEngine();
+            default:
+                return new DenseStepEngine();
+        }
+    }
+
+    /**
+     * Finds the strategy by its name, ignoring case
+     *
+     * @param name String
+     * @return StepStrategy or null if there is no strategy by that name
+     */
+    public static StepStrategy getStepStrategyByName(String name) {
+        for (StepStrategy stepStrategy : values()) {
+            if (stepStrategy.name().equalsIgnoreCase(name)) {
+                return stepStrategy;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,134 @@
+package com.brianscottrussell.gameoflife;
+
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+import com.brianscottrussell.gameoflife.GameGrid.CellStatus;
+
+/**
+ * Computes the next generation by visiting every cell of the tiles that are next to a change in the last generation.
+ *  tiles with no change nearby are skipped entirely, so the cost is in proportion to the active area of the grid
+ *
+ * @author brussell
+ */
+class TiledStepEngine extends StepEngine {
+
+    private boolean[][] activeTiles = new boolean[0][0];
+    // tile indexes (tileRow * tileColCount + tileCol) of the active tiles, to clear & visit them without a full scan
+    private final CellChangeList activeTileList = new CellChangeList();
+
+    @Override
+    void step(GenerationStep step) {
+        if (!step.previousGenerationInNext) {
+            // without the previous changes there is nothing to narrow the search down with
+            stepRows(step, 0, step.rowCount, step.changedCells);
+            return;
+        }
+        catchUpNext(step);
+        markActiveTiles(step);
+
+        int tileColCount = GameGrid.tileCount(step.colCount);
+        for (int i = 0; i < this.activeTileList.size(); i++) {
+            int tileRow = (int) (this.activeTileList.get(i) / tileColCount);
+            int tileCol = (int) (this.activeTileList.get(i) % tileColCount);
+            this.activeTiles[tileRow][tileCol] = false;
+
+            int firstCol = tileCol << GameGrid.TILE_SHIFT;
+            int lastRow = Math.min((tileRow + 1) << GameGrid.TILE_SHIFT, step.rowCount);
+            int lastCol = Math.min((tileCol + 1) << GameGrid.TILE_SHIFT, step.colCount);
+            for (int row = tileRow << GameGrid.TILE_SHIFT; row < lastRow; row++) {
+                CellStatus[] currentRow = step.current[row];
+                for (int col = firstCol; col < lastCol; col++) {
+                    CellStatus nextCellStatus = nextCellStatus(step.current, step.rowCount, step.colCount, row, col);
+                    if (nextCellStatus != currentRow[col]) {
+                        step.writableNextRow(row)[col] = nextCellStatus;
+                        step.changedCells.add((long) row * step.colCount + col);
+                    }
+                }
+            }
+        }
+        // the tiles are visited in the order they became active
+        step.changedCells.sort();
+    }
+
+    /**
+     * Counts the tiles that the next step would visit, without stepping
+     *
+     * @param step GenerationStep
+     * @return int as # of active tiles, or every tile if the previous changes are not known
+     */
+    int countActiveTiles(GenerationStep step) {
+        if (!step.previousGenerationInNext) {
+            return getTileCount(step);
+        }
+        markActiveTiles(step);
+        int tileColCount = GameGrid.tileCount(step.colCount);
+        for (int i = 0; i < this.activeTileList.size(); i++) {
+            this.activeTiles[(int) (this.activeTileList.get(i) / tileColCount)][(int) (this.activeTileList.get(i) % tileColCount)] = false;
+        }
+        return this.activeTileList.size();
+    }
+
+    /**
+     * @param step GenerationStep
+     * @return int as # of tiles covering the grid
+     */
+    static int getTileCount(GenerationStep step) {
+        return GameGrid.tileCount(step.rowCount) * GameGrid.tileCount(step.colCount);
+    }
+
+    /**
+     * Marks every tile holding a neighbor of a cell that changed in the last generation
+     */
+    private void markActiveTiles(GenerationStep step) {
+        int tileRowCount = GameGrid.tileCount(step.rowCount);
+        int tileColCount = GameGrid.tileCount(step.colCount);
+        if (this.activeTiles.length != tileRowCount || (tileRowCount > 0 && this.activeTiles[0].length != tileColCount)) {
+            this.activeTiles = new boolean[tileRowCount][tileColCount];
+        }
+        this.activeTileList.clear();
+
+        CellChangeList previousChangedCells = step.previousChangedCells;
+        for (int i = 0; i < previousChangedCells.size(); i++) {
+            long cell = previousChangedCells.get(i);
+            int row = (int) (cell / step.colCount);
+            int col = (int) (cell % step.colCount);
+            // a cell on the edge of its tile also makes the tiles across that edge active
+            int lastTileRow = Math.min(row + 1, step.rowCount - 1) >> GameGrid.TILE_SHIFT;
+            int lastTileCol = Math.min(col + 1, step.colCount - 1) >> GameGrid.TILE_SHIFT;
+            for (int tileRow = Math.max(row - 1, 0) >> GameGrid.TILE_SHIFT; tileRow <= lastTileRow; tileRow++) {
+                for (int tileCol = Math.max(col - 1, 0) >> GameGrid.TILE_SHIFT; tileCol <= lastTileCol; tileCol++) {
+                    if (!this.activeTiles[tileRow][tileCol]) {
+                        this.activeTiles[tileRow][tileCol] = true;
+                        this.activeTileList.add(tileRow * tileColCount + tileCol);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    StepStrategy getStrategy() {
+        return StepStrategy.Tiled;
+    }
+}
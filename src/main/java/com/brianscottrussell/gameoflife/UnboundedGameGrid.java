@@ -0,0 +1,299 @@
+package com.brianscottrussell.gameoflife;
+
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.brianscottrussell.gameoflife.PlaneTile.TILE_SHIFT;
+import static com.brianscottrussell.gameoflife.PlaneTile.TILE_SIZE;
+
+/**
+ * A Game of Life on an unbounded plane, where nothing dies for reaching an edge.
+ *
+ * The plane is stored as a map of PlaneTiles, keyed by their tile coordinates (row >> TILE_SHIFT, col >> TILE_SHIFT),
+ *  and a tile only exists while it has Alive cells:
+ *
+ *   - a tile is stepped only if it or one of its 8 neighbors changed in the last generation
+ *   - a missing tile is allocated when a changed neighbor has, or just had, Alive cells on the edge they share
+ *   - a tile that is left without Alive cells is freed
+ *
+ * so memory and the cost of each generation follow the live cells, however far apart they drift, rather than a board
+ *  declared up front. Rows & cols can be negative.
+ *
+ * @author brussell
+ */
+public class UnboundedGameGrid {
+
+    private static final char DEAD_SYMBOL = '.';
+    private static final char ALIVE_SYMBOL = '*';
+
+    // the tiles with Alive cells, by tileKey()
+    private final Map<Long, PlaneTile> tiles = new HashMap<>();
+    private int generation = 1;
+    // # of Alive cells on the plane
+    private long population = 0;
+    // reused every generation for the tiles being stepped and their neighbors
+    private final List<PlaneTile> steppedTiles = new ArrayList<>();
+    private final PlaneTile[] neighbors = new PlaneTile[8];
+
+    /**
+     * Constructor for a plane where all cells are Dead
+     */
+    public UnboundedGameGrid() {
+    }
+
+    /**
+     * Constructor which places the grid given in the GameGrid input format on the plane, with its top-left cell at 0:0.
+     *  the header only gives the size of the starting pattern, the plane itself has no edges
+     *
+     * @param gridAsString String
+     */
+    public UnboundedGameGrid(String gridAsString) {
+        GameGrid startingGrid = new GameGrid(gridAsString);
+        GridSnapshot startingCells = new GridSnapshot();
+        startingGrid.copyInto(startingCells);
+        for (int row = 0; row < startingCells.getRowCount(); row++) {
+            for (int col = 0; col < startingCells.getColCount(); col++) {
+                if (startingCells.isCellAlive(row, col)) {
+                    setCell(row, col, true);
+                }
+            }
+        }
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return long as # of Alive cells on the plane
+     */
+    public long getPopulation() {
+        return population;
+    }
+
+    /**
+     * @return int as # of tiles currently allocated
+     */
+    public int getTileCount() {
+        return tiles.size();
+    }
+
+    /**
+     * @param row int
+     * @param col int
+     * @return boolean true if the cell is Alive
+     */
+    public boolean isCellAlive(int row, int col) {
+        PlaneTile tile = this.tiles.get(tileKey(row >> TILE_SHIFT, col >> TILE_SHIFT));
+        return null != tile && tile.isCellAlive(row & (TILE_SIZE - 1), col & (TILE_SIZE - 1));
+    }
+
+    /**
+     * Makes the cell Alive or Dead, allocating or freeing its tile as needed
+     *
+     * @param row int
+     * @param col int
+     * @param alive boolean
+     */
+    public void setCell(int row, int col, boolean alive) {
+        int tileRow = row >> TILE_SHIFT;
+        int tileCol = col >> TILE_SHIFT;
+        PlaneTile tile = this.tiles.get(tileKey(tileRow, tileCol));
+        if (null == tile) {
+            if (!alive) {
+                return;
+            }
+            tile = new PlaneTile(tileRow, tileCol);
+            this.tiles.put(tileKey(tileRow, tileCol), tile);
+        }
+        this.population -= tile.population;
+        tile.setCell(row & (TILE_SIZE - 1), col & (TILE_SIZE - 1), alive);
+        this.population += tile.population;
+        if (tile.population == 0) {
+            // its neighbors still have to be stepped once more
+            this.tiles.remove(tileKey(tileRow, tileCol));
+            markNeighborsChanged(tileRow, tileCol);
+        }
+    }
+
+    /**
+     * Iterates the plane to its next generation
+     */
+    public void incrementGeneration() {
+        this.generation++;
+
+        // pick the tiles to step: those that changed, their existing neighbors, and the missing neighbors that a changed
+        //   tile has Alive cells next to, now or before its last change
+        this.steppedTiles.clear();
+        for (PlaneTile tile : new ArrayList<>(this.tiles.values())) {
+            if (!tile.changed) {
+                continue;
+            }
+            pickTile(tile);
+            int edge = 0;
+            for (int tileRow = tile.tileRow - 1; tileRow <= tile.tileRow + 1; tileRow++) {
+                for (int tileCol = tile.tileCol - 1; tileCol <= tile.tileCol + 1; tileCol++) {
+                    if (tileRow != tile.tileRow || tileCol != tile.tileCol) {
+                        pickNeighbor(tileRow, tileCol, (tile.activeEdges & (1 << edge++)) != 0);
+                    }
+                }
+            }
+        }
+
+        // compute every picked tile from the current generation before any of them is swapped
+        for (PlaneTile tile : this.steppedTiles) {
+            int neighbor = 0;
+            for (int tileRow = tile.tileRow - 1; tileRow <= tile.tileRow + 1; tileRow++) {
+                for (int tileCol = tile.tileCol - 1; tileCol <= tile.tileCol + 1; tileCol++) {
+                    if (tileRow != tile.tileRow || tileCol != tile.tileCol) {
+                        this.neighbors[neighbor++] = this.tiles.get(tileKey(tileRow, tileCol));
+                    }
+                }
+            }
+            tile.step(this.neighbors);
+        }
+
+        // the tiles that were not picked did not change
+        for (PlaneTile tile : this.tiles.values()) {
+            tile.changed = false;
+        }
+        for (PlaneTile tile : this.steppedTiles) {
+            this.population -= tile.population;
+            tile.swapRows();
+            this.population += tile.population;
+        }
+        // free the empty tiles. one that just emptied out changed, so its neighbors have to be stepped once more
+        for (PlaneTile tile : this.steppedTiles) {
+            if (tile.population == 0) {
+                this.tiles.remove(tileKey(tile.tileRow, tile.tileCol));
+                if (tile.changed) {
+                    markNeighborsChanged(tile.tileRow, tile.tileCol);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the smallest region that contains every Alive cell on the plane.
+     *  only the allocated tiles are visited, one row (64 cells) at a time
+     *
+     * @return GridRegion as the bounding box of the Alive cells, empty if there are none
+     */
+    public GridRegion getLiveBoundingBox() {
+        if (this.tiles.isEmpty()) {
+            return new GridRegion(0, 0, 0, 0);
+        }
+        int firstRow = Integer.MAX_VALUE;
+        int lastRow = Integer.MIN_VALUE;
+        int firstCol = Integer.MAX_VALUE;
+        int lastCol = Integer.MIN_VALUE;
+        for (PlaneTile tile : this.tiles.values()) {
+            int tileFirstRow = 0;
+            while (tile.rows[tileFirstRow] == 0) {
+                tileFirstRow++;
+            }
+            int tileLastRow = TILE_SIZE - 1;
+            while (tile.rows[tileLastRow] == 0) {
+                tileLastRow--;
+            }
+            long cols = tile.orRows();
+            firstRow = Math.min(firstRow, (tile.tileRow << TILE_SHIFT) + tileFirstRow);
+            lastRow = Math.max(lastRow, (tile.tileRow << TILE_SHIFT) + tileLastRow);
+            firstCol = Math.min(firstCol, (tile.tileCol << TILE_SHIFT) + Long.numberOfTrailingZeros(cols));
+            lastCol = Math.max(lastCol, (tile.tileCol << TILE_SHIFT) + TILE_SIZE - 1 - Long.numberOfLeadingZeros(cols));
+        }
+        return new GridRegion(firstRow, firstCol, lastRow - firstRow + 1, lastCol - firstCol + 1);
+    }
+
+    /**
+     * Builds a String representation of the live bounding box, in the same format as GameGrid.asString()
+     */
+    public String asString() {
+        return asString(getLiveBoundingBox());
+    }
+
+    /**
+     * Builds a String representation of the given region of the plane, in the same format as GameGrid.asString()
+     *
+     * @param region GridRegion as the rectangle to render
+     * @return String
+     */
+    public String asString(GridRegion region) {
+        StringBuilder output = new StringBuilder(region.getRowCount() * (region.getColCount() + GameOfLife.LF.length()));
+        for (int row = region.getRow(); row < region.getRow() + region.getRowCount(); row++) {
+            if (row != region.getRow()) {
+                output.append(GameOfLife.LF);
+            }
+            for (int col = region.getCol(); col < region.getCol() + region.getColCount(); col++) {
+                output.append(isCellAlive(row, col) ? ALIVE_SYMBOL : DEAD_SYMBOL);
+            }
+        }
+        return output.toString();
+    }
+
+    /**
+     * Adds the tile to the tiles stepped in this generation, once
+     */
+    private void pickTile(PlaneTile tile) {
+        if (tile.steppedGeneration != this.generation) {
+            tile.steppedGeneration = this.generation;
+            this.steppedTiles.add(tile);
+        }
+    }
+
+    /**
+     * Picks the neighbor of a changed tile, allocating it first if it is missing and the changed tile has Alive cells
+     *  next to it
+     */
+    private void pickNeighbor(int tileRow, int tileCol, boolean aliveCellsNextToIt) {
+        PlaneTile tile = this.tiles.get(tileKey(tileRow, tileCol));
+        if (null == tile) {
+            if (!aliveCellsNextToIt) {
+                return;
+            }
+            tile = new PlaneTile(tileRow, tileCol);
+            this.tiles.put(tileKey(tileRow, tileCol), tile);
+        }
+        pickTile(tile);
+    }
+
+    private void markNeighborsChanged(int tileRow, int tileCol) {
+        for (int neighborRow = tileRow - 1; neighborRow <= tileRow + 1; neighborRow++) {
+            for (int neighborCol = tileCol - 1; neighborCol <= tileCol + 1; neighborCol++) {
+                PlaneTile neighbor = this.tiles.get(tileKey(neighborRow, neighborCol));
+                if (null != neighbor) {
+                    neighbor.changed = true;
+                }
+            }
+        }
+    }
+
+    private static long tileKey(int tileRow, int tileCol) {
+        return ((long) tileRow << 32) | (tileCol & 0xFFFFFFFFL);
+    }
+}
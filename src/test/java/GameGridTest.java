@@ -22,9 +22,30 @@
 
 import com.brianscottrussell.gameoflife.GameGrid;
 import com.brianscottrussell.gameoflife.GameOfLife;
+import com.brianscottrussell.gameoflife.GenerationDeltaReader;
+import com.brianscottrussell.gameoflife.GridRegion;
+import com.brianscottrussell.gameoflife.GridSnapshot;
+import com.brianscottrussell.gameoflife.SoupSearch;
+import com.brianscottrussell.gameoflife.StepStrategy;
+import com.brianscottrussell.gameoflife.UnboundedGameGrid;
+import com.brianscottrussell.gameoflife.InvalidGameGridInputException;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * @author brussell
  */
@@ -44,6 +65,16 @@ public class GameGridTest {
             + "..."
             ;
 
+    private static final String TEST_6X6_GAME_GRID_HEADER = "6 6" + GameOfLife.LF;
+    private static final String TEST_6X6_GAME_GRID_GLIDER =
+              ".*...." + GameOfLife.LF
+            + "..*..." + GameOfLife.LF
+            + "***..." + GameOfLife.LF
+            + "......" + GameOfLife.LF
+            + "......" + GameOfLife.LF
+            + "......"
+            ;
+
     @Test
     public void testIncrementGeneration() {
         GameGrid gameGrid = new GameGrid(TEST_3X3_GAME_GRID_HEADER + TEST_3x3_GAME_GRID_ALL_DEAD);
@@ -156,6 +187,622 @@ public class GameGridTest {
         testGameGrid(TEST_3X3_GAME_GRID_HEADER + inputGrid, expectedResult);
     }
 
+    /**
+     * History Tests
+     */
+    @Test
+    public void testGetGenerationFromHistory() {
+        GameGrid gameGrid = new GameGrid(TEST_6X6_GAME_GRID_HEADER + TEST_6X6_GAME_GRID_GLIDER);
+        gameGrid.enableHistory(10, 3);
+        List<String> generations = runGenerations(gameGrid, 7);
+
+        for(int generation = 1; generation <= generations.size(); generation++) {
+            GameGrid pastGameGrid = gameGrid.getGeneration(generation);
+            Assert.assertEquals(generation, pastGameGrid.getGeneration());
+            Assert.assertEquals(generations.get(generation - 1), pastGameGrid.asString());
+        }
+        // looking back must not change the grid itself
+        Assert.assertEquals(generations.size(), gameGrid.getGeneration());
+    }
+
+    @Test
+    public void testRewind() {
+        GameGrid gameGrid = new GameGrid(TEST_6X6_GAME_GRID_HEADER + TEST_6X6_GAME_GRID_GLIDER);
+        gameGrid.enableHistory(10, 3);
+        List<String> generations = runGenerations(gameGrid, 7);
+
+        gameGrid.rewind(4);
+        Assert.assertEquals(3, gameGrid.getGeneration());
+        Assert.assertEquals(generations.get(2), gameGrid.asString());
+
+        // stepping forward again recomputes the same generations
+        gameGrid.incrementGeneration();
+        Assert.assertEquals(generations.get(3), gameGrid.asString());
+        Assert.assertEquals(generations.get(3), gameGrid.getGeneration(4).asString());
+    }
+
+    @Test
+    public void testHistoryKeepsCellsSetInPlace() {
+        GameGrid gameGrid = new GameGrid(TEST_6X6_GAME_GRID_HEADER + TEST_6X6_GAME_GRID_GLIDER);
+        gameGrid.enableHistory(10, 3);
+        List<String> generations = runGenerations(gameGrid, 6);
+
+        // generation 6 is stored as a delta, generation 7 as a keyframe
+        gameGrid.setCell(5, 0, true);
+        gameGrid.setCell(0, 5, true);
+        gameGrid.setCell(0, 5, false);
+        final String perturbedGeneration6 = gameGrid.asString();
+        gameGrid.incrementGeneration();
+        gameGrid.setCell(0, 0, true);
+        final String perturbedGeneration7 = gameGrid.asString();
+        gameGrid.incrementGeneration();
+
+        gameGrid.rewind(1);
+        Assert.assertEquals(perturbedGeneration7, gameGrid.asString());
+        Assert.assertEquals(perturbedGeneration6, gameGrid.getGeneration(6).asString());
+        // the generations before the change are unchanged
+        gameGrid.rewind(2);
+        Assert.assertEquals(generations.get(4), gameGrid.asString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHistoryIsBounded() {
+        GameGrid gameGrid = new GameGrid(TEST_6X6_GAME_GRID_HEADER + TEST_6X6_GAME_GRID_GLIDER);
+        gameGrid.enableHistory(2, 1);
+        runGenerations(gameGrid, 7);
+
+        gameGrid.getGeneration(1);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRewindWithoutHistory() {
+        GameGrid gameGrid = new GameGrid(TEST_6X6_GAME_GRID_HEADER + TEST_6X6_GAME_GRID_GLIDER);
+        gameGrid.incrementGeneration();
+        gameGrid.rewind(1);
+    }
+
+    /**
+     * Delta Tests
+     */
+    @Test
+    public void testLastDeltaAsString() {
+        GameGrid gameGrid = new GameGrid(TEST_3X3_GAME_GRID_HEADER
+                + ".*." + GameOfLife.LF
+                + ".*." + GameOfLife.LF
+                + ".*.");
+        gameGrid.incrementGeneration();
+
+        final String expectedResult =
+                "Generation 2" + GameOfLife.LF
+              + "+ 1:0 1:2" + GameOfLife.LF
+              + "- 0:1 2:1"
+              ;
+        Assert.assertEquals(expectedResult, gameGrid.getLastDelta().asString());
+    }
+
+    @Test
+    public void testLastDeltaCollapsesRuns() throws InvalidGameGridInputException {
+        final String gameGridHeader = "3 4" + GameOfLife.LF;
+        GameGrid gameGrid = new GameGrid(gameGridHeader
+                + "...." + GameOfLife.LF
+                + "****" + GameOfLife.LF
+                + "....");
+        final String firstGeneration = gameGrid.asString();
+        gameGrid.incrementGeneration();
+
+        // the births above & below the middle of the line are neighbors in their rows, the deaths at its ends are not
+        final String expectedResult =
+                "Generation 2" + GameOfLife.LF
+              + "+ 0:1-2 2:1-2" + GameOfLife.LF
+              + "- 1:0 1:3"
+              ;
+        Assert.assertEquals(expectedResult, gameGrid.getLastDelta().asString());
+
+        GenerationDeltaReader reader = new GenerationDeltaReader(gameGridHeader + firstGeneration + GameOfLife.LF + expectedResult);
+        Assert.assertEquals(gameGrid.asString(), reader.readGeneration(2).asString());
+    }
+
+    @Test
+    public void testReadGenerationFromDeltas() throws InvalidGameGridInputException {
+        GameGrid gameGrid = new GameGrid(TEST_6X6_GAME_GRID_HEADER + TEST_6X6_GAME_GRID_GLIDER);
+        StringBuilder deltaOutput = new StringBuilder(TEST_6X6_GAME_GRID_HEADER + gameGrid.asString());
+        List<String> generations = new ArrayList<>();
+        generations.add(gameGrid.asString());
+        while(gameGrid.getGeneration() < 8) {
+            gameGrid.incrementGeneration();
+            generations.add(gameGrid.asString());
+            deltaOutput.append(GameOfLife.LF).append(gameGrid.getLastDelta().asString());
+        }
+
+        GenerationDeltaReader reader = new GenerationDeltaReader(deltaOutput.toString());
+        Assert.assertEquals(8, reader.getLastGeneration());
+        for(int generation = 1; generation <= 8; generation++) {
+            GameGrid rebuiltGameGrid = reader.readGeneration(generation);
+            Assert.assertEquals(generation, rebuiltGameGrid.getGeneration());
+            Assert.assertEquals(generations.get(generation - 1), rebuiltGameGrid.asString());
+        }
+    }
+
+    @Test(expected = InvalidGameGridInputException.class)
+    public void testReadInvalidDeltas() throws InvalidGameGridInputException {
+        new GenerationDeltaReader(TEST_3X3_GAME_GRID_HEADER + TEST_3x3_GAME_GRID_ALL_DEAD + GameOfLife.LF
+                + "Generation 2" + GameOfLife.LF
+                + "+ 1:7" + GameOfLife.LF
+                + "-");
+    }
+
+    /**
+     * Viewport Tests
+     */
+    @Test
+    public void testRegionAsString() {
+        GameGrid gameGrid = new GameGrid(TEST_6X6_GAME_GRID_HEADER + TEST_6X6_GAME_GRID_GLIDER);
+
+        final String expectedResult =
+                "..*." + GameOfLife.LF
+              + "***." + GameOfLife.LF
+              + "...."
+              ;
+        Assert.assertEquals(expectedResult, gameGrid.asString(new GridRegion(1, 0, 3, 4)));
+        // regions are clipped to the grid
+        Assert.assertEquals(gameGrid.asString(), gameGrid.asString(new GridRegion(-2, -2, 10, 10)));
+        Assert.assertEquals("", gameGrid.asString(new GridRegion(6, 0, 3, 3)));
+    }
+
+    @Test
+    public void testRegionQueriesAcrossTiles() {
+        GameGrid gameGrid = new GameGrid(randomGameGridInput(new Random(26), 70, 100, 0.2));
+        // move a few generations so the tile populations are kept up to date rather than counted
+        for(int i = 0; i < 5; i++) {
+            gameGrid.incrementGeneration();
+        }
+        String[] rows = gameGrid.asString().split(GameOfLife.LF);
+
+        Random random = new Random(28);
+        for(int i = 0; i < 50; i++) {
+            GridRegion region = new GridRegion(random.nextInt(80) - 5, random.nextInt(110) - 5, random.nextInt(80), random.nextInt(110));
+            int firstCol = Math.max(region.getCol(), 0);
+            int lastCol = Math.min(region.getCol() + region.getColCount(), 100);
+            int expectedLiveCellCount = 0;
+            List<String> expectedRows = new ArrayList<>();
+            for(int row = Math.max(region.getRow(), 0); row < Math.min(region.getRow() + region.getRowCount(), 70) && firstCol < lastCol; row++) {
+                String regionRow = rows[row].substring(firstCol, lastCol);
+                expectedLiveCellCount += regionRow.replace(".", "").length();
+                expectedRows.add(regionRow);
+            }
+            Assert.assertEquals(region.toString(), expectedLiveCellCount, gameGrid.countLiveCells(region));
+            Assert.assertEquals(region.toString(), String.join(GameOfLife.LF, expectedRows), gameGrid.asString(region));
+        }
+    }
+
+    @Test
+    public void testLiveBoundingBox() {
+        GameGrid gameGrid = new GameGrid(TEST_6X6_GAME_GRID_HEADER + TEST_6X6_GAME_GRID_GLIDER);
+        Assert.assertEquals(new GridRegion(0, 0, 3, 3), gameGrid.getLiveBoundingBox());
+        gameGrid.incrementGeneration();
+        Assert.assertEquals(new GridRegion(1, 0, 3, 3), gameGrid.getLiveBoundingBox());
+
+        GameGrid deadGameGrid = new GameGrid(TEST_3X3_GAME_GRID_HEADER + TEST_3x3_GAME_GRID_ALL_DEAD);
+        Assert.assertTrue(deadGameGrid.getLiveBoundingBox().isEmpty());
+    }
+
+    @Test
+    public void testLiveBoundingBoxAcrossTiles() {
+        StringBuilder input = new StringBuilder("70 100");
+        for(int row = 0; row < 70; row++) {
+            input.append(GameOfLife.LF);
+            for(int col = 0; col < 100; col++) {
+                input.append((row == 33 && col == 40) || (row == 65 && col == 64) || (row == 50 && col == 97) ? '*' : '.');
+            }
+        }
+        Assert.assertEquals(new GridRegion(33, 40, 33, 58), new GameGrid(input.toString()).getLiveBoundingBox());
+    }
+
+    /**
+     * Builds a random grid input, including the header
+     *
+     * @param random Random
+     * @param rowCount int
+     * @param colCount int
+     * @param density double as the chance of each cell being Alive
+     * @return String
+     */
+    private String randomGameGridInput(Random random, int rowCount, int colCount, double density) {
+        StringBuilder input = new StringBuilder(rowCount + " " + colCount);
+        for(int row = 0; row < rowCount; row++) {
+            input.append(GameOfLife.LF);
+            for(int col = 0; col < colCount; col++) {
+                input.append(random.nextDouble() < density ? '*' : '.');
+            }
+        }
+        return input.toString();
+    }
+
+    /**
+     * Pipelined Output Tests
+     */
+    @Test
+    public void testPipelinedOutputMatchesFullOutput() throws IOException {
+        Path inputFile = Files.createTempFile("pipelined", ".txt");
+        try {
+            Files.write(inputFile, randomGameGridInput(new Random(29), 30, 40, 0.3).getBytes());
+            byte[] fullOutput = runMain(inputFile.toString(), "--generations=25");
+            byte[] pipelinedOutput = runMain(inputFile.toString(), "--generations=25", "--pipelined");
+
+            // every generation is printed, and the last one is flushed when the printer is closed
+            Assert.assertTrue(new String(fullOutput).contains("Generation 25"));
+            Assert.assertArrayEquals(fullOutput, pipelinedOutput);
+        } finally {
+            Files.delete(inputFile);
+        }
+    }
+
+    @Test
+    public void testPipelinedOutputReportsWriteFailure() throws IOException {
+        Path inputFile = Files.createTempFile("pipelined", ".txt");
+        PrintStream originalOut = System.out;
+        PrintStream originalErr = System.err;
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        try {
+            Files.write(inputFile, randomGameGridInput(new Random(29), 30, 40, 0.3).getBytes());
+            // like a closed pipe: every write fails
+            System.setOut(new PrintStream(new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    throw new IOException("Broken pipe");
+                }
+            }));
+            System.setErr(new PrintStream(errors, true));
+            GameOfLife.main(new String[] {inputFile.toString(), "--generations=25", "--pipelined"});
+        } finally {
+            System.setOut(originalOut);
+            System.setErr(originalErr);
+            Files.delete(inputFile);
+        }
+        Assert.assertTrue(errors.toString(), errors.toString().contains("Printing the generations failed"));
+    }
+
+    @Test
+    public void testConflictingModesAreRejected() {
+        // the default grid is used, so any generation printed means the conflict was not caught
+        String output = new String(runMain("--generations=3", "--delta", "--pipelined"));
+        Assert.assertEquals("--delta and --pipelined cannot be combined." + GameOfLife.LF, output);
+        output = new String(runMain("--generations=3", "--unbounded", "--engine=sparse"));
+        Assert.assertTrue(output, output.startsWith("--unbounded cannot be combined with"));
+        Assert.assertFalse(output, output.contains("Generation"));
+    }
+
+    /**
+     * Runs GameOfLife.main() with the given arguments
+     *
+     * @return byte[] as everything it wrote to System.out
+     */
+    private byte[] runMain(String... args) {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            System.setOut(new PrintStream(output, true));
+            GameOfLife.main(args);
+        } finally {
+            System.setOut(originalOut);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Snapshot Tests
+     */
+    @Test
+    public void testAcquireSnapshot() {
+        GameGrid gameGrid = new GameGrid(TEST_6X6_GAME_GRID_HEADER + TEST_6X6_GAME_GRID_GLIDER);
+        gameGrid.enableSnapshotPublishing();
+        gameGrid.incrementGeneration();
+
+        try (GridSnapshot snapshot = gameGrid.acquireSnapshot()) {
+            // a held snapshot is not changed by later generations
+            String expectedResult = gameGrid.asString();
+            gameGrid.incrementGeneration();
+            gameGrid.incrementGeneration();
+            Assert.assertEquals(2, snapshot.getGeneration());
+            Assert.assertEquals(expectedResult, snapshot.asString());
+        }
+        try (GridSnapshot snapshot = gameGrid.acquireSnapshot()) {
+            Assert.assertEquals(4, snapshot.getGeneration());
+            Assert.assertEquals(gameGrid.asString(), snapshot.asString());
+        }
+    }
+
+    @Test
+    public void testRecycledSnapshotsMatchGrid() {
+        GameGrid gameGrid = new GameGrid(randomGameGridInput(new Random(31), 40, 50, 0.3));
+        gameGrid.setStepStrategy(StepStrategy.Sparse);
+        gameGrid.enableSnapshotPublishing();
+        // a held snapshot is skipped when recycling, so the others fall further behind before they are brought forward
+        GridSnapshot heldSnapshot = gameGrid.acquireSnapshot();
+        for(int i = 0; i < 60; i++) {
+            if(i == 20) {
+                gameGrid.setCell(0, 0, !gameGrid.isCellAlive(0, 0));
+            }
+            if(i == 40) {
+                heldSnapshot.close();
+            }
+            gameGrid.incrementGeneration();
+            try (GridSnapshot snapshot = gameGrid.acquireSnapshot()) {
+                Assert.assertEquals(gameGrid.getGeneration(), snapshot.getGeneration());
+                Assert.assertEquals(gameGrid.asString(), snapshot.asString());
+            }
+        }
+    }
+
+    @Test
+    public void testClosingSnapshotTwice() {
+        GameGrid gameGrid = new GameGrid(TEST_6X6_GAME_GRID_HEADER + TEST_6X6_GAME_GRID_GLIDER);
+        gameGrid.enableSnapshotPublishing();
+        GridSnapshot snapshot = gameGrid.acquireSnapshot();
+        try (GridSnapshot otherSnapshot = gameGrid.acquireSnapshot()) {
+            snapshot.close();
+            snapshot.close();
+            // the other reader still holds the snapshot, so it must not be recycled
+            gameGrid.incrementGeneration();
+            gameGrid.incrementGeneration();
+            Assert.assertEquals(1, otherSnapshot.getGeneration());
+            Assert.assertEquals(new GameGrid(TEST_6X6_GAME_GRID_HEADER + TEST_6X6_GAME_GRID_GLIDER).asString(), otherSnapshot.asString());
+        }
+        // and once both readers are done, acquiring still returns the latest generation rather than spinning
+        try (GridSnapshot latestSnapshot = gameGrid.acquireSnapshot()) {
+            Assert.assertEquals(3, latestSnapshot.getGeneration());
+        }
+    }
+
+    @Test
+    public void testSnapshotsAreConsistentWhileIncrementing() throws InterruptedException {
+        final String verticalBlinker =
+                "....." + GameOfLife.LF
+              + "..*.." + GameOfLife.LF
+              + "..*.." + GameOfLife.LF
+              + "..*.." + GameOfLife.LF
+              + "....."
+              ;
+        final String horizontalBlinker =
+                "....." + GameOfLife.LF
+              + "....." + GameOfLife.LF
+              + ".***." + GameOfLife.LF
+              + "....." + GameOfLife.LF
+              + "....."
+              ;
+        final GameGrid gameGrid = new GameGrid("5 5" + GameOfLife.LF + verticalBlinker);
+        gameGrid.enableSnapshotPublishing();
+        final AtomicReference<String> failure = new AtomicReference<>();
+
+        Thread stepper = new Thread(() -> {
+            for(int i = 0; i < 20000; i++) {
+                gameGrid.incrementGeneration();
+            }
+        });
+        List<Thread> readers = new ArrayList<>();
+        for(int i = 0; i < 3; i++) {
+            readers.add(new Thread(() -> {
+                int lastGeneration = 0;
+                while(lastGeneration < 20001 && null == failure.get()) {
+                    try (GridSnapshot snapshot = gameGrid.acquireSnapshot()) {
+                        // the grid must always match the generation it was published with
+                        String expectedResult = snapshot.getGeneration() % 2 == 1 ? verticalBlinker : horizontalBlinker;
+                        if(!expectedResult.equals(snapshot.asString()) || snapshot.getGeneration() < lastGeneration) {
+                            failure.set("Inconsistent snapshot of generation " + snapshot.getGeneration());
+                        }
+                        lastGeneration = snapshot.getGeneration();
+                    }
+                }
+            }));
+        }
+
+        readers.forEach(Thread::start);
+        stepper.start();
+        stepper.join();
+        for(Thread reader : readers) {
+            reader.join();
+        }
+        Assert.assertNull(failure.get());
+    }
+
+    /**
+     * Step Strategy Tests
+     */
+    @Test
+    public void testStepStrategiesMatchDense() {
+        // a random soup in one corner of a grid several tiles wide, so every strategy gets its chance to skip cells
+        StringBuilder input = new StringBuilder("150 200");
+        Random random = new Random(32);
+        for(int row = 0; row < 150; row++) {
+            input.append(GameOfLife.LF);
+            for(int col = 0; col < 200; col++) {
+                input.append(row < 60 && col < 60 && random.nextDouble() < 0.35 ? '*' : '.');
+            }
+        }
+        GameGrid denseGameGrid = new GameGrid(input.toString());
+        List<String> expectedGenerations = runGenerations(denseGameGrid, 60);
+
+        for(StepStrategy stepStrategy : StepStrategy.values()) {
+            GameGrid gameGrid = new GameGrid(input.toString());
+            gameGrid.setStepStrategy(stepStrategy);
+            GameGrid deltaGameGrid = new GameGrid(input.toString());
+            for(int generation = 2; generation <= 60; generation++) {
+                gameGrid.incrementGeneration();
+                Assert.assertEquals(stepStrategy + " generation " + generation, expectedGenerations.get(generation - 1), gameGrid.asString());
+                // the deltas must be complete as well
+                deltaGameGrid.applyDelta(gameGrid.getLastDelta());
+                Assert.assertEquals(stepStrategy + " delta " + generation, gameGrid.asString(), deltaGameGrid.asString());
+                Assert.assertEquals(stepStrategy + " population " + generation, gameGrid.asString().replaceAll("[^*]", "").length(), gameGrid.getPopulation());
+            }
+        }
+    }
+
+    @Test
+    public void testSparseStrategyAfterRewind() {
+        GameGrid gameGrid = new GameGrid(TEST_6X6_GAME_GRID_HEADER + TEST_6X6_GAME_GRID_GLIDER);
+        List<String> expectedGenerations = runGenerations(new GameGrid(TEST_6X6_GAME_GRID_HEADER + TEST_6X6_GAME_GRID_GLIDER), 8);
+        gameGrid.setStepStrategy(StepStrategy.Sparse);
+        gameGrid.enableHistory(10, 4);
+        runGenerations(gameGrid, 6);
+
+        gameGrid.rewind(3);
+        runGenerations(gameGrid, 8);
+        Assert.assertEquals(expectedGenerations.get(7), gameGrid.asString());
+    }
+
+    @Test
+    public void testSoupSearchIsRepeatable() throws InterruptedException {
+        SoupSearch.Result result = new SoupSearch(1, 20, 2).run();
+        Assert.assertEquals(20, result.getSoupCount());
+        Assert.assertTrue(result.getObjectCounts().containsKey("xs4_**/**"));
+        // the same seeds give the same census, however the soups are shared out between the threads
+        Assert.assertEquals(result.getObjectCounts(), new SoupSearch(1, 20, 1).run().getObjectCounts());
+    }
+
+    @Test
+    public void testSoupSearchLeavesOutObjectsAtTheEdge() throws InterruptedException {
+        // soup 203 leaves an object against the edge of the board, which dies out on a grid of its own
+        SoupSearch.Result result = new SoupSearch(203, 1, 1).run();
+        Map<String, Long> expectedCounts = new HashMap<>();
+        expectedCounts.put("xs4_**/**", 8L);
+        expectedCounts.put("xs6_.**./*..*/.**.", 2L);
+        expectedCounts.put("xs7_.**./*..*/*.*./.*..", 1L);
+        Assert.assertEquals(expectedCounts, result.getObjectCounts());
+        Assert.assertEquals(1, result.getEdgeSoupCount());
+        Assert.assertEquals(Collections.singletonList(203L), result.getEdgeSeeds());
+    }
+
+    /**
+     * Unbounded Tests
+     */
+    @Test
+    public void testUnboundedMatchesBoundedAwayFromEdges() {
+        // a soup far enough from the edges of the bounded grid that nothing reaches them in time
+        String soup = randomGameGridInput(new Random(34), 40, 40, 0.35);
+        StringBuilder input = new StringBuilder("400 400");
+        String[] soupRows = soup.split(GameOfLife.LF);
+        for(int row = 0; row < 400; row++) {
+            input.append(GameOfLife.LF);
+            for(int col = 0; col < 400; col++) {
+                boolean inSoup = row >= 180 && row < 220 && col >= 180 && col < 220;
+                input.append(inSoup ? soupRows[row - 179].charAt(col - 180) : '.');
+            }
+        }
+        GameGrid gameGrid = new GameGrid(input.toString());
+        gameGrid.setStepStrategy(StepStrategy.Sparse);
+        UnboundedGameGrid unboundedGameGrid = new UnboundedGameGrid(soup);
+
+        for(int i = 0; i < 150; i++) {
+            gameGrid.incrementGeneration();
+            unboundedGameGrid.incrementGeneration();
+        }
+        Assert.assertEquals(gameGrid.asString(), unboundedGameGrid.asString(new GridRegion(-180, -180, 400, 400)));
+        Assert.assertEquals(gameGrid.getPopulation(), unboundedGameGrid.getPopulation());
+    }
+
+    @Test
+    public void testUnboundedMatchesBoundedAcrossTileEdges() {
+        // small soups centered on a tile corner (the origin, reaching into negative rows & cols), on tile edges and
+        //   inside a tile, compared generation by generation with a bounded grid large enough to hold them.
+        //   a few of these seeds (e.g. 1961 at the origin) need a tile stepped because of a cell that just died next to it
+        int[][] centers = {{0, 0}, {0, 32}, {32, 0}, {-64, -64}, {20, 20}};
+        for(int seed = 0; seed < 2000; seed++) {
+            for(int[] center : centers) {
+                Random random = new Random(seed);
+                UnboundedGameGrid unboundedGameGrid = new UnboundedGameGrid();
+                GameGrid gameGrid = new GameGrid(80, 80);
+                gameGrid.setStepStrategy(StepStrategy.Sparse);
+                for(int row = -3; row < 3; row++) {
+                    for(int col = -3; col < 3; col++) {
+                        if(random.nextDouble() < 0.4) {
+                            unboundedGameGrid.setCell(center[0] + row, center[1] + col, true);
+                            gameGrid.setCell(40 + row, 40 + col, true);
+                        }
+                    }
+                }
+                for(int i = 0; i < 30; i++) {
+                    gameGrid.incrementGeneration();
+                    unboundedGameGrid.incrementGeneration();
+                    Assert.assertEquals("seed " + seed + " generation " + gameGrid.getGeneration(), gameGrid.getPopulation(), unboundedGameGrid.getPopulation());
+                }
+                Assert.assertEquals("seed " + seed, gameGrid.asString(), unboundedGameGrid.asString(new GridRegion(center[0] - 40, center[1] - 40, 80, 80)));
+            }
+        }
+    }
+
+    @Test
+    public void testUnboundedGliderOnlyKeepsTilesItOccupies() {
+        // a glider heading up & left, into negative rows & cols
+        UnboundedGameGrid unboundedGameGrid = new UnboundedGameGrid("3 3" + GameOfLife.LF + "***" + GameOfLife.LF + "*.." + GameOfLife.LF + ".*.");
+        for(int i = 0; i < 800; i++) {
+            unboundedGameGrid.incrementGeneration();
+            Assert.assertTrue(unboundedGameGrid.getTileCount() <= 4);
+        }
+        Assert.assertEquals(new GridRegion(-200, -200, 3, 3), unboundedGameGrid.getLiveBoundingBox());
+        Assert.assertEquals("***" + GameOfLife.LF + "*.." + GameOfLife.LF + ".*.", unboundedGameGrid.asString());
+        Assert.assertEquals(5, unboundedGameGrid.getPopulation());
+    }
+
+    /**
+     * Fork Tests
+     */
+    @Test
+    public void testForksRunIndependently() {
+        String input = randomGameGridInput(new Random(35), 100, 120, 0.3);
+        for(StepStrategy stepStrategy : StepStrategy.values()) {
+            GameGrid gameGrid = new GameGrid(input);
+            gameGrid.setStepStrategy(stepStrategy);
+            for(int i = 0; i < 10; i++) {
+                gameGrid.incrementGeneration();
+            }
+            GameGrid fork = gameGrid.fork();
+            fork.setCell(50, 60, !fork.isCellAlive(50, 60));
+            GameGrid forkOfFork = fork.fork();
+            forkOfFork.setCell(0, 0, true);
+
+            // the same perturbations, made on grids of their own
+            GameGrid expectedGameGrid = new GameGrid(input);
+            for(int i = 0; i < 10; i++) {
+                expectedGameGrid.incrementGeneration();
+            }
+            GameGrid expectedFork = new GameGrid("100 120" + GameOfLife.LF + expectedGameGrid.asString());
+            expectedFork.setCell(50, 60, !expectedFork.isCellAlive(50, 60));
+            GameGrid expectedForkOfFork = new GameGrid("100 120" + GameOfLife.LF + expectedFork.asString());
+            expectedForkOfFork.setCell(0, 0, true);
+
+            for(int i = 0; i < 40; i++) {
+                gameGrid.incrementGeneration();
+                fork.incrementGeneration();
+                forkOfFork.incrementGeneration();
+                expectedGameGrid.incrementGeneration();
+                expectedFork.incrementGeneration();
+                expectedForkOfFork.incrementGeneration();
+            }
+            Assert.assertEquals(stepStrategy.toString(), expectedGameGrid.asString(), gameGrid.asString());
+            Assert.assertEquals(stepStrategy.toString(), expectedFork.asString(), fork.asString());
+            Assert.assertEquals(stepStrategy.toString(), expectedForkOfFork.asString(), forkOfFork.asString());
+            Assert.assertEquals(expectedFork.getPopulation(), fork.getPopulation());
+            Assert.assertEquals(51, fork.getGeneration());
+        }
+    }
+
+    /**
+     * Increments the grid until it reaches the given generation
+     *
+     * @param gameGrid GameGrid
+     * @param lastGeneration int
+     * @return List of every generation's grid as a String, starting with the current generation
+     */
+    private List<String> runGenerations(GameGrid gameGrid, int lastGeneration) {
+        List<String> generations = new ArrayList<>();
+        generations.add(gameGrid.asString());
+        while(gameGrid.getGeneration() < lastGeneration) {
+            gameGrid.incrementGeneration();
+            generations.add(gameGrid.asString());
+        }
+        return generations;
+    }
+
     /**
      * Basic test of a grid input against the expected & actual result after incrementing the generation once.
      *  Note: the input should include the header indicating row & column counts
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+import com.brianscottrussell.gameoflife.GameGrid;
+import com.brianscottrussell.gameoflife.GameOfLife;
+import com.brianscottrussell.gameoflife.StepStrategy;
+
+import java.util.Random;
+
+/**
+ * Compares the step strategies on a few workloads, to check that the Adaptive strategy keeps up with the best fixed one.
+ *  not run as part of the tests, run the main method from the test classpath e.g.
+    mvn test-compile
+    java -cp target/classes:target/test-classes:$HOME/.m2/repository/org/apache/commons/commons-lang3/3.3.2/commons-lang3-3.3.2.jar StepStrategyBenchmark
+ *
+ * @author brussell
+ */
+public class StepStrategyBenchmark {
+
+    private static final int RUNS = 3;
+
+    public static void main(String[] args) {
+        benchmark("random soup 512x512", randomSoup(512, 512, 512, 512, 0.35), 300);
+        benchmark("soup in a corner 1024x1024", randomSoup(1024, 1024, 200, 200, 0.35), 300);
+        benchmark("gliders 1024x1024", gliders(1024, 1024, 40), 300);
+        // changes throughout the grid at first, then settles into still lifes, oscillators & a few gliders,
+        //   so no one fixed strategy suits the whole run and Adaptive has to switch
+        benchmark("soup decaying 384x384", randomSoup(384, 384, 384, 384, 0.35), 1500);
+    }
+
+    /**
+     * Times each strategy on the workload, keeping the best of RUNS runs
+     */
+    private static void benchmark(String name, String input, int generations) {
+        System.out.println(name + ", " + generations + " generations (best of " + RUNS + ", ms)");
+        for(StepStrategy stepStrategy : StepStrategy.values()) {
+            long best = Long.MAX_VALUE;
+            // one extra run to warm up the JIT
+            for(int run = 0; run <= RUNS; run++) {
+                GameGrid gameGrid = new GameGrid(input);
+                gameGrid.setStepStrategy(stepStrategy);
+                long start = System.nanoTime();
+                while(gameGrid.getGeneration() < generations) {
+                    gameGrid.incrementGeneration();
+                }
+                if(run > 0) {
+                    best = Math.min(best, System.nanoTime() - start);
+                }
+            }
+            System.out.println(String.format("  %-10s %8d", stepStrategy, best / 1000000));
+        }
+    }
+
+    /**
+     * @return String as a grid input with a random soup of the given size in its top left corner
+     */
+    private static String randomSoup(int rowCount, int colCount, int soupRowCount, int soupColCount, double density) {
+        Random random = new Random(32);
+        StringBuilder input = new StringBuilder(rowCount + " " + colCount);
+        for(int row = 0; row < rowCount; row++) {
+            input.append(GameOfLife.LF);
+            for(int col = 0; col < colCount; col++) {
+                input.append(row < soupRowCount && col < soupColCount && random.nextDouble() < density ? '*' : '.');
+            }
+        }
+        return input.toString();
+    }
+
+    /**
+     * @return String as a grid input with gliders spread over it, all heading down & right
+     */
+    private static String gliders(int rowCount, int colCount, int gliderCount) {
+        char[][] cells = new char[rowCount][colCount];
+        for(char[] row : cells) {
+            java.util.Arrays.fill(row, '.');
+        }
+        Random random = new Random(32);
+        for(int i = 0; i < gliderCount; i++) {
+            int row = random.nextInt(rowCount - 3);
+            int col = random.nextInt(colCount - 3);
+            cells[row][col + 1] = '*';
+            cells[row + 1][col + 2] = '*';
+            cells[row + 2][col] = '*';
+            cells[row + 2][col + 1] = '*';
+            cells[row + 2][col + 2] = '*';
+        }
+        StringBuilder input = new StringBuilder(rowCount + " " + colCount);
+        for(char[] row : cells) {
+            input.append(GameOfLife.LF).append(row);
+        }
+        return input.toString();
+    }
+}
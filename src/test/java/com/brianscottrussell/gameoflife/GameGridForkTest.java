@@ -0,0 +1,77 @@
+package com.brianscottrussell.gameoflife;
+
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The rows a fork shares with its parent are not visible through the public API, so this is tested from the package
+ *
+ * @author brussell
+ */
+public class GameGridForkTest {
+
+    private static final int GRID_SIZE = 100;
+
+    @Test
+    public void testForkSharesUnchangedRows() {
+        for (StepStrategy stepStrategy : StepStrategy.values()) {
+            GameGrid gameGrid = newGliderGameGrid();
+            gameGrid.setStepStrategy(stepStrategy);
+            gameGrid.incrementGeneration();
+            GameGrid fork = gameGrid.fork();
+            Assert.assertEquals(stepStrategy.toString(), GRID_SIZE, gameGrid.countRowsSharedWith(fork));
+
+            // the glider stays within the first 10 rows, so only those rows can have been copied by either grid
+            for (int generation = 0; generation < 12; generation++) {
+                gameGrid.incrementGeneration();
+                fork.incrementGeneration();
+                int sharedRowCount = gameGrid.countRowsSharedWith(fork);
+                Assert.assertTrue(stepStrategy + ": " + sharedRowCount, sharedRowCount >= GRID_SIZE - 10);
+                Assert.assertTrue(stepStrategy + ": " + sharedRowCount, sharedRowCount < GRID_SIZE);
+            }
+
+            // changing a cell of the fork copies only that row
+            int sharedRowCount = gameGrid.countRowsSharedWith(fork);
+            fork.setCell(GRID_SIZE - 1, 0, true);
+            Assert.assertEquals(stepStrategy.toString(), sharedRowCount - 1, gameGrid.countRowsSharedWith(fork));
+            Assert.assertFalse(gameGrid.isCellAlive(GRID_SIZE - 1, 0));
+        }
+    }
+
+    /**
+     * @return GameGrid of GRID_SIZE x GRID_SIZE with a glider in the top-left corner, heading down & right
+     */
+    private GameGrid newGliderGameGrid() {
+        StringBuilder input = new StringBuilder(GRID_SIZE + " " + GRID_SIZE);
+        for (int row = 0; row < GRID_SIZE; row++) {
+            input.append(GameOfLife.LF);
+            for (int col = 0; col < GRID_SIZE; col++) {
+                boolean alive = (row == 0 && col == 1) || (row == 1 && col == 2) || (row == 2 && col <= 2);
+                input.append(alive ? '*' : '.');
+            }
+        }
+        return new GameGrid(input.toString());
+    }
+}
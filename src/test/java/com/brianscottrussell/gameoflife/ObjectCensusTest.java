@@ -0,0 +1,174 @@
+package com.brianscottrussell.gameoflife;
+
+/*
+ * Copyright (c) 2016 Brian Scott Russell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ObjectCensus is package-private, so it is tested from its own package
+ *
+ * @author brussell
+ */
+public class ObjectCensusTest {
+
+    private static final String BLOCK_KEY = "xs4_**/**";
+    private static final String BLINKER_KEY = "xp2_***";
+
+    @Test
+    public void testCensusTagsOscillatorPeriod() {
+        GameGrid gameGrid = new GameGrid(
+                  "5 5" + GameOfLife.LF
+                + "....." + GameOfLife.LF
+                + "....." + GameOfLife.LF
+                + ".***." + GameOfLife.LF
+                + "....." + GameOfLife.LF
+                + "....."
+        );
+
+        Map<String, Integer> expectedCounts = new HashMap<>();
+        expectedCounts.put(BLINKER_KEY, 1);
+        Assert.assertEquals(expectedCounts, new ObjectCensus().takeCensus(gameGrid, 2));
+        Assert.assertEquals("blinker", ObjectCensus.getObjectName(BLINKER_KEY));
+        // the census runs the grid through one whole cycle, back to the phase it started in
+        Assert.assertEquals(3, gameGrid.getGeneration());
+        Assert.assertTrue(gameGrid.asString().contains(".***."));
+    }
+
+    @Test
+    public void testCensusGroupsByFloodFill() {
+        // a block, a beehive and a beacon in the phase where its two halves do not touch
+        GameGrid gameGrid = new GameGrid(
+                  "11 12" + GameOfLife.LF
+                + "............" + GameOfLife.LF
+                + ".**....**..." + GameOfLife.LF
+                + ".**...*..*.." + GameOfLife.LF
+                + ".......**..." + GameOfLife.LF
+                + "............" + GameOfLife.LF
+                + "............" + GameOfLife.LF
+                + "..**........" + GameOfLife.LF
+                + "..*........." + GameOfLife.LF
+                + ".....*......" + GameOfLife.LF
+                + "....**......" + GameOfLife.LF
+                + "............"
+        );
+
+        Map<String, Integer> objectCounts = new ObjectCensus().takeCensus(gameGrid, 2);
+        Assert.assertEquals(3, objectCounts.size());
+        List<String> objectNames = new ArrayList<>();
+        for (Map.Entry<String, Integer> objectCount : objectCounts.entrySet()) {
+            Assert.assertEquals(1, objectCount.getValue().intValue());
+            objectNames.add(ObjectCensus.getObjectName(objectCount.getKey()));
+        }
+        objectNames.sort(null);
+        Assert.assertEquals(Arrays.asList("beacon", "beehive", "block"), objectNames);
+    }
+
+    @Test
+    public void testCensusSeparatesCloseObjects() {
+        // one empty col between the blocks, so they do not touch
+        GameGrid gameGrid = new GameGrid(
+                  "4 7" + GameOfLife.LF
+                + "......." + GameOfLife.LF
+                + ".**.**." + GameOfLife.LF
+                + ".**.**." + GameOfLife.LF
+                + "......."
+        );
+
+        Map<String, Integer> expectedCounts = new HashMap<>();
+        expectedCounts.put(BLOCK_KEY, 2);
+        Assert.assertEquals(expectedCounts, new ObjectCensus().takeCensus(gameGrid, 1));
+    }
+
+    @Test
+    public void testCensusKeysObjectsThatDoNotRepeat() {
+        // the L-tromino becomes a block, so it is never back in its first phase
+        GameGrid gameGrid = new GameGrid(
+                  "5 5" + GameOfLife.LF
+                + "....." + GameOfLife.LF
+                + ".**.." + GameOfLife.LF
+                + ".*..." + GameOfLife.LF
+                + "....." + GameOfLife.LF
+                + "....."
+        );
+
+        Map<String, Integer> expectedCounts = new HashMap<>();
+        expectedCounts.put(ObjectCensus.UNSTABLE_PREFIX + "**/*.", 1);
+        Assert.assertEquals(expectedCounts, new ObjectCensus().takeCensus(gameGrid, 2));
+    }
+
+    @Test
+    public void testCensusLeavesOutObjectsAtTheEdge() {
+        // the block in the corner could be held in shape by the edge, the one in the middle cannot
+        GameGrid gameGrid = new GameGrid(
+                  "6 6" + GameOfLife.LF
+                + "**...." + GameOfLife.LF
+                + "**...." + GameOfLife.LF
+                + "......" + GameOfLife.LF
+                + "...**." + GameOfLife.LF
+                + "...**." + GameOfLife.LF
+                + "......"
+        );
+
+        ObjectCensus census = new ObjectCensus();
+        Map<String, Integer> expectedCounts = new HashMap<>();
+        expectedCounts.put(BLOCK_KEY, 1);
+        Assert.assertEquals(expectedCounts, census.takeCensus(gameGrid, 1));
+        Assert.assertEquals(1, census.getEdgeObjectCount());
+    }
+
+    @Test
+    public void testCanonicalPatternIgnoresRotationAndReflection() {
+        // the L-tromino, turned a quarter at a time & then mirrored, and moved about so the position changes too
+        List<int[]> lTromino = Arrays.asList(new int[] {0, 0}, new int[] {1, 0}, new int[] {1, 1});
+        List<String> orientationPatterns = new ArrayList<>();
+        for (int orientation = 0; orientation < 8; orientation++) {
+            List<int[]> cells = new ArrayList<>();
+            for (int[] cell : lTromino) {
+                int row = cell[0];
+                int col = cell[1];
+                for (int turn = 0; turn < orientation % 4; turn++) {
+                    int turnedRow = col;
+                    col = -row;
+                    row = turnedRow;
+                }
+                if (orientation >= 4) {
+                    col = -col;
+                }
+                cells.add(new int[] {row + 3 * orientation, col - orientation});
+            }
+            orientationPatterns.add(ObjectCensus.canonicalPattern(cells));
+        }
+        Assert.assertEquals(Arrays.asList("**/*.", "**/*.", "**/*.", "**/*.", "**/*.", "**/*.", "**/*.", "**/*."), orientationPatterns);
+
+        // the same number of cells in another shape
+        List<int[]> straightTromino = Arrays.asList(new int[] {0, 0}, new int[] {0, 1}, new int[] {0, 2});
+        Assert.assertEquals("***", ObjectCensus.canonicalPattern(straightTromino));
+    }
+}